@@ -0,0 +1,78 @@
+package com.riskguard.analytics.controller;
+
+import com.riskguard.analytics.dto.AnalyticsSummary;
+import com.riskguard.analytics.dto.CubeQuery;
+import com.riskguard.analytics.dto.CubeResult;
+import com.riskguard.analytics.dto.CubeStatus;
+import com.riskguard.analytics.dto.FraudSignalSummary;
+import com.riskguard.analytics.entity.RiskReport;
+import com.riskguard.analytics.service.AnalyticsService;
+import com.riskguard.analytics.service.AssessmentCube;
+import com.riskguard.analytics.service.FraudSignalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private FraudSignalService fraudSignalService;
+
+    @Autowired
+    private AssessmentCube assessmentCube;
+
+    @GetMapping("/summary")
+    public ResponseEntity<AnalyticsSummary> getSummary() {
+        return ResponseEntity.ok(analyticsService.summary());
+    }
+
+    @PostMapping("/reconcile")
+    public ResponseEntity<AnalyticsSummary> reconcile() {
+        analyticsService.reconcile();
+        return ResponseEntity.ok(analyticsService.summary());
+    }
+
+    // Dimensions and their values for building cube queries
+    @GetMapping("/cube")
+    public ResponseEntity<CubeStatus> getCubeStatus() {
+        return ResponseEntity.ok(assessmentCube.status());
+    }
+
+    @PostMapping("/cube/query")
+    public ResponseEntity<CubeResult> queryCube(@RequestBody CubeQuery query) {
+        if (!assessmentCube.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(assessmentCube.query(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Applies new and changed assessments now instead of at the next scheduled refresh
+    @PostMapping("/cube/refresh")
+    public ResponseEntity<CubeStatus> refreshCube() {
+        assessmentCube.refresh();
+        return ResponseEntity.ok(assessmentCube.status());
+    }
+
+    @GetMapping("/fraud-signals")
+    public ResponseEntity<FraudSignalSummary> getFraudSignals() {
+        return ResponseEntity.ok(fraudSignalService.summary());
+    }
+
+    // Rebuilds the signals from the database and stores them as a FRAUD_SIGNALS risk report
+    @PostMapping("/fraud-signals/run")
+    public ResponseEntity<RiskReport> runFraudSignals() {
+        return fraudSignalService.run()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -2,24 +2,72 @@ package com.riskguard.analytics.controller;
 
 import com.riskguard.analytics.entity.RiskReport;
 import com.riskguard.analytics.repository.RiskReportRepository;
+import com.riskguard.analytics.service.PeriodReportService;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/risk-reports")
 public class RiskReportController {
 
+    private static final Set<String> SORT_KEYS = Set.of("generatedDate");
+
     @Autowired
     private RiskReportRepository reportRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private PeriodReportService periodReportService;
+
     @PostMapping
     public ResponseEntity<RiskReport> createReport(@RequestBody RiskReport report) {
-        RiskReport saved = reportRepository.save(report);
-        return ResponseEntity.ok(saved);
+        // DAILY, WEEKLY and MONTHLY reports are generated server-side only
+        if (PeriodReportService.isPeriodType(report.getReportType())) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            RiskReport saved = reportRepository.save(report);
+            return ResponseEntity.ok(saved);
+        } catch (DataIntegrityViolationException e) {
+            // (reportType, periodStart) is unique
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /** Returns the snapshot for the ended period containing {@code date}, generating it if needed. */
+    @PostMapping("/generate")
+    public ResponseEntity<RiskReport> generateReport(
+            @RequestParam PeriodReportService.Period period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(periodReportService.generate(period, date));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Precomputed snapshots for trend charts, oldest first
+    @GetMapping("/trend")
+    public ResponseEntity<List<RiskReport>> getTrend(
+            @RequestParam PeriodReportService.Period period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(periodReportService.trend(period, from, to));
     }
 
     @GetMapping
@@ -27,6 +75,22 @@ public class RiskReportController {
         return ResponseEntity.ok(reportRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<RiskReport>> getReportsPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(RiskReport.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamReports() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(RiskReport.class, out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RiskReport> getReportById(@PathVariable Long id) {
         Optional<RiskReport> report = reportRepository.findById(id);
@@ -44,9 +108,18 @@ public class RiskReportController {
     public ResponseEntity<RiskReport> updateReport(@PathVariable Long id, @RequestBody RiskReport report) {
         Optional<RiskReport> existing = reportRepository.findById(id);
         if (existing.isPresent()) {
+            // Generated period reports are immutable snapshots
+            if (PeriodReportService.isPeriodType(existing.get().getReportType())
+                    || PeriodReportService.isPeriodType(report.getReportType())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
             report.setReportId(id);
-            RiskReport updated = reportRepository.save(report);
-            return ResponseEntity.ok(updated);
+            try {
+                RiskReport updated = reportRepository.save(report);
+                return ResponseEntity.ok(updated);
+            } catch (DataIntegrityViolationException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
         }
         return ResponseEntity.notFound().build();
     }
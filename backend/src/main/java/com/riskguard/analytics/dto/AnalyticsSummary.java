@@ -0,0 +1,44 @@
+package com.riskguard.analytics.dto;
+
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsSummary {
+    private long totalCustomers;
+    private long totalAssessments;
+    private long totalDecisions;
+    private long totalPolicies;
+    private double approvalRate;
+    private double averageRiskScore;
+    private Map<String, Long> riskDistribution;
+    private Map<String, Long> decisionDistribution;
+    private PaymentMetrics paymentMetrics;
+    private double collectionRate;
+    private List<RiskAssessment> highRiskCustomers;
+    private List<RiskAssessment> recentAssessments;
+    private LocalDateTime reconciledAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PaymentMetrics {
+        private long totalPayments;
+        private long paidPayments;
+        private long unpaidPayments;
+        private BigDecimal totalAmount;
+        private BigDecimal paidAmount;
+    }
+}
@@ -0,0 +1,26 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group-by over assessments joined to customer attributes. Dimension names are those listed by
+ * {@code GET /api/analytics/cube}; a filter keeps rows whose value is one of the listed values, and
+ * missing values are matched as {@code UNKNOWN}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeQuery {
+    private List<String> groupBy;
+    private Map<String, List<String>> filters;
+    private Double minScore;
+    private Double maxScore;
+    private Integer limit;
+}
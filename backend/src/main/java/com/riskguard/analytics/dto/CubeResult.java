@@ -0,0 +1,23 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeResult {
+    private List<CubeRow> rows;
+    // More groups matched than the limit; rows holds the largest ones
+    private boolean truncated;
+    private long rowsScanned;
+    private long rowsMatched;
+    private LocalDateTime refreshedAt;
+    private long tookMicros;
+}
@@ -0,0 +1,27 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeRow {
+    // Group-by dimension -> value, in query order
+    private Map<String, String> group;
+    private long assessments;
+    // Over assessments with a score; null when none has one
+    private Double averageScore;
+    private Double minScore;
+    private Double maxScore;
+    private long approved;
+    private long reviewRequired;
+    private long declined;
+    private double approvalRate;
+    private double declineRate;
+}
@@ -0,0 +1,23 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeStatus {
+    private boolean ready;
+    private long rows;
+    private long highestAssessmentId;
+    private LocalDateTime refreshedAt;
+    // Dimension -> distinct values seen so far
+    private Map<String, List<String>> dimensions;
+}
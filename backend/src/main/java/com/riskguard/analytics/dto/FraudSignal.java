@@ -0,0 +1,22 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FraudSignal {
+    private String type;
+    private String label;
+    private long count;
+    // Share of all policies flagged by this signal
+    private double percentage;
+    // Most severe first, capped
+    private List<Long> policyIds;
+}
@@ -0,0 +1,21 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FraudSignalSummary {
+    private LocalDateTime rebuiltAt;
+    private long rebuildMillis;
+    private long policies;
+    private long failedPaymentsInWindow;
+    private List<FraudSignal> signals;
+}
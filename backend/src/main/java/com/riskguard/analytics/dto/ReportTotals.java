@@ -0,0 +1,28 @@
+package com.riskguard.analytics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Exact running totals stored as a period report's content, so longer periods can be summed from
+ * shorter ones without losing precision to the rounded average and rate columns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportTotals {
+    private long assessments;
+    private long scoredAssessments;
+    private double riskScoreSum;
+    private long approved;
+    private long declined;
+    private long reviewRequired;
+    private Map<String, Long> byRiskLevel;
+    // Daily snapshots summed into this report; 0 for a daily report
+    private int dailyReports;
+}
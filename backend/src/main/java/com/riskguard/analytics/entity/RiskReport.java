@@ -8,7 +8,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "risk_reports")
+@Table(name = "risk_reports", indexes = {
+        @Index(name = "idx_report_generated_date", columnList = "generatedDate"),
+        // One generated snapshot per period, even with several instances generating
+        @Index(name = "uk_report_type_period", columnList = "reportType, periodStart", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +31,11 @@ public class RiskReport {
     private Long declinedCount;
     private Long reviewRequiredCount;
     private LocalDate generatedDate;
+    // Set on generated DAILY, WEEKLY and MONTHLY reports; both ends inclusive
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
     private String generatedBy;
+
+    @Column(columnDefinition = "TEXT")
     private String reportContent;
 }
@@ -4,9 +4,16 @@ import com.riskguard.analytics.entity.RiskReport;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RiskReportRepository extends JpaRepository<RiskReport, Long> {
     List<RiskReport> findByReportType(String reportType);
+
+    Optional<RiskReport> findByReportTypeAndPeriodStart(String reportType, LocalDate periodStart);
+
+    List<RiskReport> findByReportTypeAndPeriodStartBetweenOrderByPeriodStartAsc(String reportType, LocalDate from,
+                                                                              LocalDate to);
 }
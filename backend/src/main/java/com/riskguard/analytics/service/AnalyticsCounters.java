@@ -0,0 +1,203 @@
+package com.riskguard.analytics.service;
+
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Running totals behind the analytics summary. Controllers report every row they create or
+ * delete; an update is reported as removing the stored row before the save and adding the
+ * saved row after it. Per-enum counts are
+ * indexed by ordinal with one extra slot for a null value; scores and amounts are kept in
+ * hundredths so the sums stay exact.
+ */
+@Component
+public class AnalyticsCounters {
+
+    private static final int LEVEL_SLOTS = RiskAssessment.RiskLevel.values().length + 1;
+    private static final int DECISION_SLOTS = UnderwritingDecision.DecisionStatus.values().length + 1;
+    private static final int PAYMENT_SLOTS = PremiumPayment.PaymentStatus.values().length + 1;
+
+    // Deltas take the read lock so a reconcile can replace every counter in one step
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong customers = new AtomicLong();
+    private final AtomicLong policies = new AtomicLong();
+    private final AtomicLongArray assessmentsByLevel = new AtomicLongArray(LEVEL_SLOTS);
+    private final AtomicLong riskScoreHundredths = new AtomicLong();
+    private final AtomicLongArray decisionsByStatus = new AtomicLongArray(DECISION_SLOTS);
+    private final AtomicLongArray paymentsByStatus = new AtomicLongArray(PAYMENT_SLOTS);
+    private final AtomicLongArray paymentCentsByStatus = new AtomicLongArray(PAYMENT_SLOTS);
+
+    public void customerAdded() {
+        withReadLock(customers::incrementAndGet);
+    }
+
+    public void customersAdded(long count) {
+        withReadLock(() -> customers.addAndGet(count));
+    }
+
+    public void customerRemoved() {
+        withReadLock(customers::decrementAndGet);
+    }
+
+    public void policyAdded() {
+        withReadLock(policies::incrementAndGet);
+    }
+
+    public void policyRemoved() {
+        withReadLock(policies::decrementAndGet);
+    }
+
+    public void assessmentAdded(RiskAssessment assessment) {
+        withReadLock(() -> {
+            assessmentsByLevel.incrementAndGet(slot(assessment.getRiskLevel(), LEVEL_SLOTS));
+            riskScoreHundredths.addAndGet(hundredths(assessment.getRiskScore()));
+        });
+    }
+
+    public void assessmentRemoved(RiskAssessment assessment) {
+        withReadLock(() -> {
+            assessmentsByLevel.decrementAndGet(slot(assessment.getRiskLevel(), LEVEL_SLOTS));
+            riskScoreHundredths.addAndGet(-hundredths(assessment.getRiskScore()));
+        });
+    }
+
+    public void decisionAdded(UnderwritingDecision decision) {
+        withReadLock(() -> decisionsByStatus.incrementAndGet(slot(decision.getStatus(), DECISION_SLOTS)));
+    }
+
+    public void decisionRemoved(UnderwritingDecision decision) {
+        withReadLock(() -> decisionsByStatus.decrementAndGet(slot(decision.getStatus(), DECISION_SLOTS)));
+    }
+
+    public void paymentAdded(PremiumPayment payment) {
+        withReadLock(() -> {
+            int slot = slot(payment.getStatus(), PAYMENT_SLOTS);
+            paymentsByStatus.incrementAndGet(slot);
+            paymentCentsByStatus.addAndGet(slot, cents(payment.getAmount()));
+        });
+    }
+
+    public void paymentRemoved(PremiumPayment payment) {
+        withReadLock(() -> {
+            int slot = slot(payment.getStatus(), PAYMENT_SLOTS);
+            paymentsByStatus.decrementAndGet(slot);
+            paymentCentsByStatus.addAndGet(slot, -cents(payment.getAmount()));
+        });
+    }
+
+    /**
+     * Replaces every counter with values aggregated from the database. Deltas reported while the
+     * aggregate queries were running may be counted twice or not at all; the next reconcile
+     * corrects them.
+     */
+    public void reset(Snapshot snapshot) {
+        lock.writeLock().lock();
+        try {
+            customers.set(snapshot.customers);
+            policies.set(snapshot.policies);
+            riskScoreHundredths.set(snapshot.riskScoreHundredths);
+            for (int i = 0; i < LEVEL_SLOTS; i++) assessmentsByLevel.set(i, snapshot.assessmentsByLevel[i]);
+            for (int i = 0; i < DECISION_SLOTS; i++) decisionsByStatus.set(i, snapshot.decisionsByStatus[i]);
+            for (int i = 0; i < PAYMENT_SLOTS; i++) {
+                paymentsByStatus.set(i, snapshot.paymentsByStatus[i]);
+                paymentCentsByStatus.set(i, snapshot.paymentCentsByStatus[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.customers = customers.get();
+        snapshot.policies = policies.get();
+        snapshot.riskScoreHundredths = riskScoreHundredths.get();
+        for (int i = 0; i < LEVEL_SLOTS; i++) snapshot.assessmentsByLevel[i] = assessmentsByLevel.get(i);
+        for (int i = 0; i < DECISION_SLOTS; i++) snapshot.decisionsByStatus[i] = decisionsByStatus.get(i);
+        for (int i = 0; i < PAYMENT_SLOTS; i++) {
+            snapshot.paymentsByStatus[i] = paymentsByStatus.get(i);
+            snapshot.paymentCentsByStatus[i] = paymentCentsByStatus.get(i);
+        }
+        return snapshot;
+    }
+
+    private void withReadLock(Runnable update) {
+        lock.readLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int slot(Enum<?> value, int slots) {
+        return value == null ? slots - 1 : value.ordinal();
+    }
+
+    static long hundredths(Double value) {
+        return value == null ? 0L : Math.round(value * 100.0);
+    }
+
+    static long cents(BigDecimal value) {
+        return value == null ? 0L : value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    public static class Snapshot {
+        public long customers;
+        public long policies;
+        public long riskScoreHundredths;
+        public final long[] assessmentsByLevel = new long[LEVEL_SLOTS];
+        public final long[] decisionsByStatus = new long[DECISION_SLOTS];
+        public final long[] paymentsByStatus = new long[PAYMENT_SLOTS];
+        public final long[] paymentCentsByStatus = new long[PAYMENT_SLOTS];
+
+        public void addAssessments(RiskAssessment.RiskLevel level, long count, double scoreSum) {
+            assessmentsByLevel[slot(level, LEVEL_SLOTS)] += count;
+            riskScoreHundredths += Math.round(scoreSum * 100.0);
+        }
+
+        public void addDecisions(UnderwritingDecision.DecisionStatus status, long count) {
+            decisionsByStatus[slot(status, DECISION_SLOTS)] += count;
+        }
+
+        public void addPayments(PremiumPayment.PaymentStatus status, long count, BigDecimal amount) {
+            int slot = slot(status, PAYMENT_SLOTS);
+            paymentsByStatus[slot] += count;
+            paymentCentsByStatus[slot] += cents(amount);
+        }
+
+        public long totalAssessments() {
+            long total = 0;
+            for (long count : assessmentsByLevel) total += count;
+            return total;
+        }
+
+        public long totalDecisions() {
+            long total = 0;
+            for (long count : decisionsByStatus) total += count;
+            return total;
+        }
+
+        public long totalPayments() {
+            long total = 0;
+            for (long count : paymentsByStatus) total += count;
+            return total;
+        }
+
+        public long totalPaymentCents() {
+            long total = 0;
+            for (long cents : paymentCentsByStatus) total += cents;
+            return total;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.riskguard.analytics.service;
+
+import com.riskguard.analytics.dto.AnalyticsSummary;
+import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.premium.repository.PremiumPaymentRepository;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.riskassessment.repository.RiskAssessmentRepository;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.underwriting.repository.UnderwritingDecisionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class AnalyticsService {
+
+    @Autowired
+    private AnalyticsCounters counters;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RiskAssessmentRepository assessmentRepository;
+
+    @Autowired
+    private UnderwritingDecisionRepository decisionRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PremiumPaymentRepository paymentRepository;
+
+    private volatile LocalDateTime reconciledAt;
+
+    // Runs once at startup and then every interval, so the counters start out accurate
+    @Scheduled(fixedDelayString = "${riskguard.analytics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        AnalyticsCounters.Snapshot snapshot = new AnalyticsCounters.Snapshot();
+        snapshot.customers = customerRepository.count();
+        snapshot.policies = policyRepository.count();
+        for (Object[] row : assessmentRepository.summarizeByRiskLevel()) {
+            snapshot.addAssessments((RiskAssessment.RiskLevel) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).doubleValue());
+        }
+        for (Object[] row : decisionRepository.countByStatusGrouped()) {
+            snapshot.addDecisions((UnderwritingDecision.DecisionStatus) row[0], ((Number) row[1]).longValue());
+        }
+        for (Object[] row : paymentRepository.summarizeByStatus()) {
+            snapshot.addPayments((PremiumPayment.PaymentStatus) row[0], ((Number) row[1]).longValue(), toBigDecimal(row[2]));
+        }
+        counters.reset(snapshot);
+        reconciledAt = LocalDateTime.now();
+        log.debug("Analytics counters reconciled: {} assessments, {} decisions, {} payments",
+                snapshot.totalAssessments(), snapshot.totalDecisions(), snapshot.totalPayments());
+    }
+
+    public AnalyticsSummary summary() {
+        AnalyticsCounters.Snapshot s = counters.snapshot();
+
+        Map<String, Long> riskDistribution = new LinkedHashMap<>();
+        for (RiskAssessment.RiskLevel level : RiskAssessment.RiskLevel.values()) {
+            riskDistribution.put(level.name(), s.assessmentsByLevel[level.ordinal()]);
+        }
+        Map<String, Long> decisionDistribution = new LinkedHashMap<>();
+        for (UnderwritingDecision.DecisionStatus status : UnderwritingDecision.DecisionStatus.values()) {
+            decisionDistribution.put(status.name(), s.decisionsByStatus[status.ordinal()]);
+        }
+
+        long totalAssessments = s.totalAssessments();
+        long totalDecisions = s.totalDecisions();
+        long totalCents = s.totalPaymentCents();
+        long paidCents = s.paymentCentsByStatus[PremiumPayment.PaymentStatus.PAID.ordinal()];
+
+        AnalyticsSummary.PaymentMetrics paymentMetrics = AnalyticsSummary.PaymentMetrics.builder()
+                .totalPayments(s.totalPayments())
+                .paidPayments(s.paymentsByStatus[PremiumPayment.PaymentStatus.PAID.ordinal()])
+                .unpaidPayments(s.paymentsByStatus[PremiumPayment.PaymentStatus.UNPAID.ordinal()])
+                .totalAmount(BigDecimal.valueOf(totalCents, 2))
+                .paidAmount(BigDecimal.valueOf(paidCents, 2))
+                .build();
+
+        return AnalyticsSummary.builder()
+                .totalCustomers(s.customers)
+                .totalAssessments(totalAssessments)
+                .totalDecisions(totalDecisions)
+                .totalPolicies(s.policies)
+                .approvalRate(percent(decisionDistribution.get(UnderwritingDecision.DecisionStatus.APPROVED.name()), totalDecisions))
+                .averageRiskScore(totalAssessments > 0 ? round2(s.riskScoreHundredths / 100.0 / totalAssessments) : 0)
+                .riskDistribution(riskDistribution)
+                .decisionDistribution(decisionDistribution)
+                .paymentMetrics(paymentMetrics)
+                .collectionRate(percent(paidCents, totalCents))
+                .highRiskCustomers(assessmentRepository.findTop5ByRiskLevelInOrderByRiskScoreDesc(
+                        List.of(RiskAssessment.RiskLevel.HIGH, RiskAssessment.RiskLevel.CRITICAL)))
+                .recentAssessments(assessmentRepository.findTop10ByOrderByAssessmentIdDesc())
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    private static double percent(long part, long whole) {
+        return whole > 0 ? round2(part * 100.0 / whole) : 0;
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
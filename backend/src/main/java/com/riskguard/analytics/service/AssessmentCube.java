@@ -0,0 +1,673 @@
+package com.riskguard.analytics.service;
+
+import com.riskguard.analytics.dto.CubeQuery;
+import com.riskguard.analytics.dto.CubeResult;
+import com.riskguard.analytics.dto.CubeRow;
+import com.riskguard.analytics.dto.CubeStatus;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory copy of every risk assessment joined to its customer's attributes, for
+ * ad-hoc group-by queries off the primary database. Each dimension is dictionary-encoded into an
+ * {@code int[]} column and the score is a {@code double[]}, stored in fixed-size immutable chunks.
+ * A refresh appends assessments above the highest loaded ID and rewrites, copy-on-write, only the
+ * chunks holding rows reported changed or added; a reported row below the highest ID that isn't
+ * loaded yet (an ID committed out of order, e.g. by a long batch insert) is merged into its chunk.
+ * It then publishes a new chunk list; a query reads the list once and scans chunks in parallel
+ * into dense per-group arrays. Dictionaries only grow between the nightly rebuilds.
+ */
+@Slf4j
+@Service
+public class AssessmentCube {
+
+    public enum Dimension {
+        RISK_LEVEL("riskLevel"),
+        RESULT("result"),
+        STATUS("status"),
+        FLAGGED("flaggedForManualReview"),
+        MONTH("month"),
+        INSURANCE_TYPE("insuranceType"),
+        STATE("state"),
+        CITY("city"),
+        AGE_BAND("ageBand"),
+        DOCUMENT_VERIFIED("documentVerified");
+
+        private final String key;
+
+        Dimension(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public static Dimension of(String key) {
+            for (Dimension dimension : values()) {
+                if (dimension.key.equals(key)) {
+                    return dimension;
+                }
+            }
+            throw new IllegalArgumentException("Unknown dimension: " + key);
+        }
+    }
+
+    private static final int CHUNK_SIZE = 65_536;
+    private static final int MAX_GROUPS = 100_000;
+    private static final int DEFAULT_LIMIT = 1000;
+    private static final int IN_BATCH = 1000;
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final int DIMENSIONS = Dimension.values().length;
+    // Result dictionary codes are the enum ordinals shifted past UNKNOWN
+    private static final int RESULT_CODES = RiskAssessment.AssessmentResult.values().length + 1;
+    private static final int APPROVED = RiskAssessment.AssessmentResult.APPROVED.ordinal() + 1;
+    private static final int REVIEW_REQUIRED = RiskAssessment.AssessmentResult.REVIEW_REQUIRED.ordinal() + 1;
+    private static final int DECLINED = RiskAssessment.AssessmentResult.DECLINED.ordinal() + 1;
+    private static final String SELECT =
+            "SELECT a.assessment_id, a.risk_score, a.risk_level, a.result, a.status, a.flagged_for_manual_review, "
+                    + "a.assessment_date, c.insurance_type, c.state, c.city, c.date_of_birth, c.document_verified "
+                    + "FROM risk_assessments a LEFT JOIN customers c ON c.customer_id = a.customer_id ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final Set<Long> changedAssessments = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedCustomers = ConcurrentHashMap.newKeySet();
+    private volatile Table table;
+
+    /** Rows {@code [i]} of every column belong to assessment {@code ids[i]}; IDs ascend within and across chunks. */
+    private record Chunk(int size, long[] ids, double[] scores, int[][] codes) {
+    }
+
+    private record Row(long id, double score, int[] codes) {
+    }
+
+    private record Table(List<Chunk> chunks, Dictionary[] dictionaries, long rows, long highestId,
+                         LocalDateTime refreshedAt) {
+    }
+
+    /**
+     * Append-only value dictionary with {@code UNKNOWN} as code 0. Only the refreshing thread adds
+     * values; the size is published after the value, so readers never see a code without its value.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[16];
+        private volatile int size;
+
+        Dictionary(Enum<?>[] preset) {
+            code(UNKNOWN);
+            for (Enum<?> value : preset) {
+                code(value.name());
+            }
+        }
+
+        int code(String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                values = current;
+            }
+            current[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+
+        int find(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        String value(int code) {
+            return values[code];
+        }
+
+        int size() {
+            return size;
+        }
+
+        List<String> list() {
+            int n = size;
+            return List.of(Arrays.copyOf(values, n));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Reloads everything with fresh dictionaries, dropping values no longer in use. */
+    @Scheduled(cron = "${riskguard.analytics-cube.rebuild-cron:0 45 2 * * *}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        changedAssessments.clear();
+        changedCustomers.clear();
+        Dictionary[] dictionaries = new Dictionary[DIMENSIONS];
+        for (Dimension dimension : Dimension.values()) {
+            dictionaries[dimension.ordinal()] = new Dictionary(switch (dimension) {
+                case RISK_LEVEL -> RiskAssessment.RiskLevel.values();
+                case RESULT -> RiskAssessment.AssessmentResult.values();
+                case STATUS -> RiskAssessment.AssessmentStatus.values();
+                case INSURANCE_TYPE -> Customer.InsuranceType.values();
+                default -> new Enum<?>[0];
+            });
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        long highestId = append(new Table(List.of(), dictionaries, 0, 0, null), chunks);
+        table = new Table(List.copyOf(chunks), dictionaries, rows(chunks), highestId, LocalDateTime.now());
+        log.info("Assessment cube built with {} rows in {} chunks in {} ms",
+                table.rows(), chunks.size(), System.currentTimeMillis() - started);
+    }
+
+    /** Appends new assessments and reloads rows reported changed since the last refresh. */
+    @Scheduled(fixedDelayString = "${riskguard.analytics-cube.refresh-ms:10000}")
+    public synchronized void refresh() {
+        Table current = table;
+        if (current == null) {
+            return;
+        }
+        List<Chunk> chunks = new ArrayList<>(current.chunks());
+        long highestId = append(current, chunks);
+
+        List<Long> assessmentIds = drain(changedAssessments);
+        List<Long> customerIds = drain(changedCustomers);
+        if (highestId == current.highestId() && assessmentIds.isEmpty() && customerIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, Chunk> copies = new HashMap<>();
+        Map<Integer, Map<Long, Row>> missing = new HashMap<>();
+        long[] firstIds = chunks.stream().mapToLong(chunk -> chunk.ids()[0]).toArray();
+        for (int from = 0; from < assessmentIds.size(); from += IN_BATCH) {
+            reload("a.assessment_id", assessmentIds.subList(from, Math.min(from + IN_BATCH, assessmentIds.size())),
+                    current.dictionaries(), chunks, firstIds, highestId, copies, missing);
+        }
+        for (int from = 0; from < customerIds.size(); from += IN_BATCH) {
+            reload("a.customer_id", customerIds.subList(from, Math.min(from + IN_BATCH, customerIds.size())),
+                    current.dictionaries(), chunks, firstIds, highestId, copies, missing);
+        }
+        copies.forEach(chunks::set);
+        missing.forEach((c, rows) -> chunks.set(c, merge(chunks.get(c), rows)));
+        table = new Table(List.copyOf(chunks), current.dictionaries(), rows(chunks), highestId, LocalDateTime.now());
+    }
+
+    public void assessmentChanged(Long assessmentId) {
+        changedAssessments.add(assessmentId);
+    }
+
+    /**
+     * Loads newly inserted assessments at the next refresh even if their IDs are below rows
+     * already loaded. Inside a transaction they are only queued once it commits, so a refresh
+     * can't look for them before they are visible.
+     */
+    public void assessmentsAdded(Collection<Long> assessmentIds) {
+        if (assessmentIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(assessmentIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changedAssessments.addAll(ids);
+                }
+            });
+        } else {
+            changedAssessments.addAll(assessmentIds);
+        }
+    }
+
+    /** Reloads the customer's attributes on all of their assessments at the next refresh. */
+    public void customerChanged(Long customerId) {
+        changedCustomers.add(customerId);
+    }
+
+    public boolean isReady() {
+        return table != null;
+    }
+
+    public CubeStatus status() {
+        Table current = table;
+        Map<String, List<String>> dimensions = new LinkedHashMap<>();
+        if (current != null) {
+            for (Dimension dimension : Dimension.values()) {
+                dimensions.put(dimension.key(), current.dictionaries()[dimension.ordinal()].list());
+            }
+        }
+        return CubeStatus.builder()
+                .ready(current != null)
+                .rows(current != null ? current.rows() : 0)
+                .highestAssessmentId(current != null ? current.highestId() : 0)
+                .refreshedAt(current != null ? current.refreshedAt() : null)
+                .dimensions(dimensions)
+                .build();
+    }
+
+    /**
+     * Runs a group-by. Throws {@link IllegalArgumentException} for an unknown dimension or when the
+     * grouped dimensions could produce more than {@value #MAX_GROUPS} groups, and
+     * {@link IllegalStateException} before the first build has finished.
+     */
+    public CubeResult query(CubeQuery query) {
+        long started = System.nanoTime();
+        Table current = table;
+        if (current == null) {
+            throw new IllegalStateException("Assessment cube is not built yet");
+        }
+        List<String> groupByKeys = query.getGroupBy() != null ? query.getGroupBy() : List.of();
+        int[] groupBy = new int[groupByKeys.size()];
+        // Sizes are read after the table, so they cover every code in its chunks
+        int[] sizes = new int[groupBy.length];
+        long groups = 1;
+        for (int i = 0; i < groupBy.length; i++) {
+            groupBy[i] = Dimension.of(groupByKeys.get(i)).ordinal();
+            for (int j = 0; j < i; j++) {
+                if (groupBy[j] == groupBy[i]) {
+                    throw new IllegalArgumentException("Dimension grouped twice: " + groupByKeys.get(i));
+                }
+            }
+            sizes[i] = current.dictionaries()[groupBy[i]].size();
+            groups *= sizes[i];
+            if (groups > MAX_GROUPS) {
+                throw new IllegalArgumentException("Too many groups; filter or group by fewer dimensions");
+            }
+        }
+
+        List<Integer> filterDimensions = new ArrayList<>();
+        List<boolean[]> filterMasks = new ArrayList<>();
+        if (query.getFilters() != null) {
+            query.getFilters().forEach((key, values) -> {
+                Dimension dimension = Dimension.of(key);
+                Dictionary dictionary = current.dictionaries()[dimension.ordinal()];
+                boolean[] mask = new boolean[dictionary.size()];
+                for (String value : values != null ? values : List.<String>of()) {
+                    int code = dictionary.find(value);
+                    if (code >= 0 && code < mask.length) {
+                        mask[code] = true;
+                    }
+                }
+                filterDimensions.add(dimension.ordinal());
+                filterMasks.add(mask);
+            });
+        }
+        int[] filtered = filterDimensions.stream().mapToInt(Integer::intValue).toArray();
+        boolean[][] masks = filterMasks.toArray(new boolean[0][]);
+        double minScore = query.getMinScore() != null ? query.getMinScore() : Double.NEGATIVE_INFINITY;
+        double maxScore = query.getMaxScore() != null ? query.getMaxScore() : Double.POSITIVE_INFINITY;
+        boolean scoreFilter = query.getMinScore() != null || query.getMaxScore() != null;
+
+        int groupCount = (int) groups;
+        List<Chunk> chunks = current.chunks();
+        int tasks = Math.max(1, Math.min(chunks.size(), pool.getParallelism()));
+        Partial total;
+        try {
+            total = pool.submit(() -> IntStream.range(0, tasks).parallel()
+                            .mapToObj(task -> {
+                                Partial partial = new Partial(groupCount);
+                                for (int c = task; c < chunks.size(); c += tasks) {
+                                    partial.scan(chunks.get(c), groupBy, sizes, filtered, masks,
+                                            scoreFilter, minScore, maxScore);
+                                }
+                                return partial;
+                            })
+                            .reduce(Partial::merge)
+                            .orElseGet(() -> new Partial(groupCount)))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Assessment cube query interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Assessment cube query failed", e.getCause());
+        }
+
+        List<CubeRow> rows = new ArrayList<>();
+        long matched = 0;
+        for (int g = 0; g < groupCount; g++) {
+            if (total.count[g] == 0) {
+                continue;
+            }
+            matched += total.count[g];
+            // The group index is mixed-radix over the grouped dictionaries, last dimension lowest
+            String[] values = new String[groupBy.length];
+            int rest = g;
+            for (int i = groupBy.length - 1; i >= 0; i--) {
+                values[i] = current.dictionaries()[groupBy[i]].value(rest % sizes[i]);
+                rest /= sizes[i];
+            }
+            Map<String, String> group = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.length; i++) {
+                group.put(groupByKeys.get(i), values[i]);
+            }
+            rows.add(toRow(group, total, g));
+        }
+        rows.sort(Comparator.comparingLong(CubeRow::getAssessments).reversed()
+                .thenComparing(row -> String.join("|", row.getGroup().values())));
+        int limit = query.getLimit() != null && query.getLimit() > 0 ? query.getLimit() : DEFAULT_LIMIT;
+        boolean truncated = rows.size() > limit;
+        return CubeResult.builder()
+                .rows(truncated ? List.copyOf(rows.subList(0, limit)) : rows)
+                .truncated(truncated)
+                .rowsScanned(current.rows())
+                .rowsMatched(matched)
+                .refreshedAt(current.refreshedAt())
+                .tookMicros((System.nanoTime() - started) / 1000)
+                .build();
+    }
+
+    /** Per-group running totals for one scan task. */
+    private static final class Partial {
+        private final long[] count;
+        private final long[] scored;
+        private final double[] scoreSum;
+        private final double[] scoreMin;
+        private final double[] scoreMax;
+        private final long[] results;
+
+        Partial(int groups) {
+            count = new long[groups];
+            scored = new long[groups];
+            scoreSum = new double[groups];
+            scoreMin = new double[groups];
+            scoreMax = new double[groups];
+            results = new long[groups * RESULT_CODES];
+            Arrays.fill(scoreMin, Double.POSITIVE_INFINITY);
+            Arrays.fill(scoreMax, Double.NEGATIVE_INFINITY);
+        }
+
+        void scan(Chunk chunk, int[] groupBy, int[] sizes, int[] filtered, boolean[][] masks,
+                  boolean scoreFilter, double minScore, double maxScore) {
+            int[][] codes = chunk.codes();
+            double[] scores = chunk.scores();
+            int[] result = codes[Dimension.RESULT.ordinal()];
+            rows:
+            for (int r = 0; r < chunk.size(); r++) {
+                for (int f = 0; f < filtered.length; f++) {
+                    if (!masks[f][codes[filtered[f]][r]]) {
+                        continue rows;
+                    }
+                }
+                double score = scores[r];
+                // NaN (no score) fails both comparisons and is dropped by a score filter
+                if (scoreFilter && !(score >= minScore && score <= maxScore)) {
+                    continue;
+                }
+                int g = 0;
+                for (int i = 0; i < groupBy.length; i++) {
+                    g = g * sizes[i] + codes[groupBy[i]][r];
+                }
+                count[g]++;
+                results[g * RESULT_CODES + result[r]]++;
+                if (!Double.isNaN(score)) {
+                    scored[g]++;
+                    scoreSum[g] += score;
+                    scoreMin[g] = Math.min(scoreMin[g], score);
+                    scoreMax[g] = Math.max(scoreMax[g], score);
+                }
+            }
+        }
+
+        Partial merge(Partial other) {
+            for (int g = 0; g < count.length; g++) {
+                count[g] += other.count[g];
+                scored[g] += other.scored[g];
+                scoreSum[g] += other.scoreSum[g];
+                scoreMin[g] = Math.min(scoreMin[g], other.scoreMin[g]);
+                scoreMax[g] = Math.max(scoreMax[g], other.scoreMax[g]);
+            }
+            for (int i = 0; i < results.length; i++) {
+                results[i] += other.results[i];
+            }
+            return this;
+        }
+    }
+
+    private static CubeRow toRow(Map<String, String> group, Partial total, int g) {
+        long assessments = total.count[g];
+        long approved = total.results[g * RESULT_CODES + APPROVED];
+        long declined = total.results[g * RESULT_CODES + DECLINED];
+        boolean scored = total.scored[g] > 0;
+        return CubeRow.builder()
+                .group(group)
+                .assessments(assessments)
+                .averageScore(scored ? round2(total.scoreSum[g] / total.scored[g]) : null)
+                .minScore(scored ? total.scoreMin[g] : null)
+                .maxScore(scored ? total.scoreMax[g] : null)
+                .approved(approved)
+                .reviewRequired(total.results[g * RESULT_CODES + REVIEW_REQUIRED])
+                .declined(declined)
+                .approvalRate(round2(approved * 100.0 / assessments))
+                .declineRate(round2(declined * 100.0 / assessments))
+                .build();
+    }
+
+    /**
+     * Streams assessments above {@code current}'s highest ID onto the end of {@code chunks},
+     * refilling a partly full last chunk. Returns the new highest ID.
+     */
+    private long append(Table current, List<Chunk> chunks) {
+        ChunkWriter writer = new ChunkWriter();
+        if (!chunks.isEmpty() && chunks.get(chunks.size() - 1).size() < CHUNK_SIZE) {
+            writer.resume(chunks.remove(chunks.size() - 1));
+        }
+        long[] highestId = {current.highestId()};
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        streaming.query(SELECT + "WHERE a.assessment_id > ? ORDER BY a.assessment_id", rs -> {
+            long id = rs.getLong(1);
+            writer.add(id, score(rs), decode(rs, current.dictionaries()));
+            highestId[0] = id;
+            if (writer.size == CHUNK_SIZE) {
+                chunks.add(writer.finish());
+            }
+        }, current.highestId());
+        if (writer.size > 0) {
+            chunks.add(writer.finish());
+        }
+        return highestId[0];
+    }
+
+    /**
+     * Rewrites the matching rows in copies of their chunks. Rows not loaded yet are collected per
+     * chunk in {@code missing}; rows above {@code highestId} are left to the next append.
+     */
+    private void reload(String column, List<Long> ids, Dictionary[] dictionaries, List<Chunk> chunks,
+                        long[] firstIds, long highestId, Map<Integer, Chunk> copies,
+                        Map<Integer, Map<Long, Row>> missing) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.query(SELECT + "WHERE " + column + " IN (" + placeholders + ")", rs -> {
+            long id = rs.getLong(1);
+            if (id > highestId || firstIds.length == 0) {
+                return;
+            }
+            int c = Arrays.binarySearch(firstIds, id);
+            // IDs below the first chunk go to its front
+            c = Math.max(0, c >= 0 ? c : -c - 2);
+            Chunk chunk = copies.computeIfAbsent(c, i -> copy(chunks.get(i)));
+            int row = Arrays.binarySearch(chunk.ids(), 0, chunk.size(), id);
+            if (row < 0) {
+                missing.computeIfAbsent(c, i -> new TreeMap<>()).put(id, new Row(id, score(rs), decode(rs, dictionaries)));
+                return;
+            }
+            chunk.scores()[row] = score(rs);
+            int[] codes = decode(rs, dictionaries);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                chunk.codes()[d][row] = codes[d];
+            }
+        }, ids.toArray());
+    }
+
+    // Merges rows (in ID order) into a new chunk; it may end up above CHUNK_SIZE until the next rebuild
+    private static Chunk merge(Chunk chunk, Map<Long, Row> rows) {
+        int size = chunk.size() + rows.size();
+        long[] ids = new long[size];
+        double[] scores = new double[size];
+        int[][] codes = new int[DIMENSIONS][size];
+        int from = 0;
+        int to = 0;
+        for (Row row : rows.values()) {
+            while (from < chunk.size() && chunk.ids()[from] < row.id()) {
+                ids[to] = chunk.ids()[from];
+                scores[to] = chunk.scores()[from];
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    codes[d][to] = chunk.codes()[d][from];
+                }
+                from++;
+                to++;
+            }
+            ids[to] = row.id();
+            scores[to] = row.score();
+            for (int d = 0; d < DIMENSIONS; d++) {
+                codes[d][to] = row.codes()[d];
+            }
+            to++;
+        }
+        for (; from < chunk.size(); from++, to++) {
+            ids[to] = chunk.ids()[from];
+            scores[to] = chunk.scores()[from];
+            for (int d = 0; d < DIMENSIONS; d++) {
+                codes[d][to] = chunk.codes()[d][from];
+            }
+        }
+        return new Chunk(size, ids, scores, codes);
+    }
+
+    private static Chunk copy(Chunk chunk) {
+        int[][] codes = new int[DIMENSIONS][];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            codes[d] = chunk.codes()[d].clone();
+        }
+        return new Chunk(chunk.size(), chunk.ids(), chunk.scores().clone(), codes);
+    }
+
+    private static double score(ResultSet rs) throws SQLException {
+        double score = rs.getDouble(2);
+        return rs.wasNull() ? Double.NaN : score;
+    }
+
+    private static int[] decode(ResultSet rs, Dictionary[] dictionaries) throws SQLException {
+        Date assessed = rs.getDate(7);
+        Date born = rs.getDate(11);
+        LocalDate assessmentDate = assessed != null ? assessed.toLocalDate() : null;
+        int[] codes = new int[DIMENSIONS];
+        codes[Dimension.RISK_LEVEL.ordinal()] = dictionaries[Dimension.RISK_LEVEL.ordinal()].code(rs.getString(3));
+        codes[Dimension.RESULT.ordinal()] = dictionaries[Dimension.RESULT.ordinal()].code(rs.getString(4));
+        codes[Dimension.STATUS.ordinal()] = dictionaries[Dimension.STATUS.ordinal()].code(rs.getString(5));
+        codes[Dimension.FLAGGED.ordinal()] = dictionaries[Dimension.FLAGGED.ordinal()].code(bool(rs, 6));
+        codes[Dimension.MONTH.ordinal()] = dictionaries[Dimension.MONTH.ordinal()].code(
+                assessmentDate != null ? assessmentDate.toString().substring(0, 7) : null);
+        codes[Dimension.INSURANCE_TYPE.ordinal()] = dictionaries[Dimension.INSURANCE_TYPE.ordinal()].code(rs.getString(8));
+        codes[Dimension.STATE.ordinal()] = dictionaries[Dimension.STATE.ordinal()].code(rs.getString(9));
+        codes[Dimension.CITY.ordinal()] = dictionaries[Dimension.CITY.ordinal()].code(rs.getString(10));
+        codes[Dimension.AGE_BAND.ordinal()] = dictionaries[Dimension.AGE_BAND.ordinal()].code(
+                assessmentDate != null && born != null ? ageBand(assessmentDate.getYear() - born.toLocalDate().getYear()) : null);
+        codes[Dimension.DOCUMENT_VERIFIED.ordinal()] = dictionaries[Dimension.DOCUMENT_VERIFIED.ordinal()].code(bool(rs, 12));
+        return codes;
+    }
+
+    // Same bands as the scoring rules, with age in calendar years at the assessment date
+    private static String ageBand(int age) {
+        return age < 25 ? "<25" : age < 35 ? "25-34" : age <= 65 ? "35-65" : "66+";
+    }
+
+    private static String bool(ResultSet rs, int column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : String.valueOf(value);
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>();
+        for (Long id : ids) {
+            if (ids.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+
+    private static long rows(List<Chunk> chunks) {
+        return chunks.stream().mapToLong(Chunk::size).sum();
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /** Fills one chunk's columns row by row. */
+    private static final class ChunkWriter {
+        private int size;
+        private long[] ids = new long[CHUNK_SIZE];
+        private double[] scores = new double[CHUNK_SIZE];
+        private int[][] codes = new int[DIMENSIONS][CHUNK_SIZE];
+
+        void resume(Chunk chunk) {
+            size = chunk.size();
+            System.arraycopy(chunk.ids(), 0, ids, 0, size);
+            System.arraycopy(chunk.scores(), 0, scores, 0, size);
+            for (int d = 0; d < DIMENSIONS; d++) {
+                System.arraycopy(chunk.codes()[d], 0, codes[d], 0, size);
+            }
+        }
+
+        void add(long id, double score, int[] rowCodes) {
+            ids[size] = id;
+            scores[size] = score;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                codes[d][size] = rowCodes[d];
+            }
+            size++;
+        }
+
+        Chunk finish() {
+            Chunk chunk = new Chunk(size, ids, scores, codes);
+            size = 0;
+            ids = new long[CHUNK_SIZE];
+            scores = new double[CHUNK_SIZE];
+            codes = new int[DIMENSIONS][CHUNK_SIZE];
+            return chunk;
+        }
+    }
+}
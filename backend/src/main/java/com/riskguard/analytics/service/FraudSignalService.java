@@ -0,0 +1,434 @@
+package com.riskguard.analytics.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskguard.analytics.dto.FraudSignal;
+import com.riskguard.analytics.dto.FraudSignalSummary;
+import com.riskguard.analytics.entity.RiskReport;
+import com.riskguard.analytics.repository.RiskReportRepository;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.underwriting.entity.Policy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Fraud indicators over policies and premium payments, kept in memory and updated as rows change:
+ * <ul>
+ *   <li>repeated payment failures: policies with at least the threshold of FAILED payments in a
+ *       sliding window of days;</li>
+ *   <li>coverage-to-premium outliers: policies whose log(coverage / premium) lies more than the
+ *       configured number of standard deviations from the running mean. Each policy's ratio is
+ *       kept, and flags are worked out when the summary is read against the statistics as they
+ *       are then, so they don't depend on the order policies were read or changed in;</li>
+ *   <li>early cancellations: policies cancelled within a few days of issue.</li>
+ * </ul>
+ * A rebuild reads failed payments and then policies once each through forward-only cursors,
+ * with no joins; afterwards callers report changes the same way they report them to
+ * {@link AnalyticsCounters}: the stored row is removed before an update and the saved row added
+ * after it. The scheduled run rebuilds the state and stores it as a {@code FRAUD_SIGNALS}
+ * {@link RiskReport}.
+ */
+@Slf4j
+@Service
+public class FraudSignalService {
+
+    public enum Signal {
+        REPEATED_PAYMENT_FAILURES("Repeated payment failures"),
+        COVERAGE_PREMIUM_OUTLIER("Coverage-to-premium outliers"),
+        EARLY_CANCELLATION("Cancelled soon after issue");
+
+        private final String label;
+
+        Signal(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public static final String REPORT_TYPE = "FRAUD_SIGNALS";
+    private static final int TOP_POLICIES = 20;
+    // Outliers are only judged once the running statistics have this many policies behind them
+    private static final int WARM_UP = 100;
+    private static final long[] NO_IDS = new long[0];
+    private static final double[] NO_RATIOS = new double[0];
+
+    @Value("${riskguard.fraud-signals.failure-window-days:90}")
+    private int failureWindowDays;
+
+    @Value("${riskguard.fraud-signals.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${riskguard.fraud-signals.outlier-z:3.0}")
+    private double outlierZ;
+
+    @Value("${riskguard.fraud-signals.early-cancellation-days:60}")
+    private int earlyCancellationDays;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RiskReportRepository reportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Deltas take the read lock so a rebuild can swap the whole state in one step
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private State state = new State();
+    private volatile LocalDateTime rebuiltAt;
+    private volatile long rebuildMillis;
+
+    /** Failed payment days per policy; days before the window are dropped as they are read. */
+    private static final class FailureWindow {
+        private final TreeMap<Long, Integer> days = new TreeMap<>();
+
+        synchronized void add(long day) {
+            days.merge(day, 1, Integer::sum);
+        }
+
+        synchronized void remove(long day) {
+            days.computeIfPresent(day, (d, n) -> n > 1 ? n - 1 : null);
+        }
+
+        synchronized int count(long fromDay) {
+            days.headMap(fromDay).clear();
+            int total = 0;
+            for (int n : days.values()) {
+                total += n;
+            }
+            return total;
+        }
+    }
+
+    /** Running mean and variance of log(coverage / premium), from sums so rows can be removed. */
+    private static final class RatioStats {
+        private long n;
+        private double sum;
+        private double sumOfSquares;
+
+        synchronized void add(double x) {
+            n++;
+            sum += x;
+            sumOfSquares += x * x;
+        }
+
+        synchronized void remove(double x) {
+            n--;
+            sum -= x;
+            sumOfSquares -= x * x;
+        }
+
+        // {mean, standard deviation}, or null until the warm-up is reached
+        synchronized double[] meanAndDeviation() {
+            if (n < WARM_UP) {
+                return null;
+            }
+            double mean = sum / n;
+            double variance = Math.max(0, (sumOfSquares - n * mean * mean) / (n - 1));
+            return new double[]{mean, Math.sqrt(variance)};
+        }
+    }
+
+    private static final class State {
+        final AtomicLong policies = new AtomicLong();
+        final ConcurrentHashMap<Long, FailureWindow> failures = new ConcurrentHashMap<>();
+        final RatioStats ratios = new RatioStats();
+        // Each policy's log ratio as of the rebuild, in policy ID order; NaN when it has none
+        long[] ratioIds = NO_IDS;
+        double[] ratioValues = NO_RATIOS;
+        // Ratios of policies added, changed or removed (NaN) since; they override the arrays
+        final ConcurrentHashMap<Long, Double> ratioChanges = new ConcurrentHashMap<>();
+        // Policy ID to severity: days short of the limit
+        final ConcurrentHashMap<Long, Double> earlyCancellations = new ConcurrentHashMap<>();
+    }
+
+    private record PolicyRow(long id, BigDecimal coverage, BigDecimal premium, Policy.PolicyStatus status,
+                             LocalDate issueDate, LocalDate startDate, LocalDate lastModifiedDate) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${riskguard.fraud-signals.cron:0 15 2 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    /** Rebuilds the signals and stores them as a report. Empty if a rebuild is already running. */
+    public Optional<RiskReport> run() {
+        return rebuild().map(this::saveReport);
+    }
+
+    public void policyAdded(Policy policy) {
+        withReadLock(s -> s.ratioChanges.put(policy.getPolicyId(), addPolicy(s, row(policy))));
+    }
+
+    public void policyRemoved(Policy policy) {
+        withReadLock(s -> {
+            s.policies.decrementAndGet();
+            double ratio = logRatio(policy.getCoverageAmount(), policy.getPremiumAmount());
+            if (!Double.isNaN(ratio)) {
+                s.ratios.remove(ratio);
+            }
+            s.ratioChanges.put(policy.getPolicyId(), Double.NaN);
+            s.earlyCancellations.remove(policy.getPolicyId());
+        });
+    }
+
+    public void paymentAdded(PremiumPayment payment) {
+        LocalDate day = failureDate(payment);
+        if (day != null && payment.getPolicyId() != null) {
+            withReadLock(s -> s.failures.computeIfAbsent(payment.getPolicyId(), id -> new FailureWindow())
+                    .add(day.toEpochDay()));
+        }
+    }
+
+    public void paymentRemoved(PremiumPayment payment) {
+        LocalDate day = failureDate(payment);
+        if (day != null && payment.getPolicyId() != null) {
+            withReadLock(s -> {
+                FailureWindow window = s.failures.get(payment.getPolicyId());
+                if (window != null) {
+                    window.remove(day.toEpochDay());
+                }
+            });
+        }
+    }
+
+    public FraudSignalSummary summary() {
+        lock.readLock().lock();
+        try {
+            long fromDay = LocalDate.now().minusDays(failureWindowDays).toEpochDay();
+            Map<Long, Double> repeatedFailures = new HashMap<>();
+            long failedInWindow = 0;
+            for (Map.Entry<Long, FailureWindow> entry : state.failures.entrySet()) {
+                int count = entry.getValue().count(fromDay);
+                failedInWindow += count;
+                if (count >= failureThreshold) {
+                    repeatedFailures.put(entry.getKey(), (double) count);
+                }
+            }
+            long policies = Math.max(0, state.policies.get());
+            return FraudSignalSummary.builder()
+                    .rebuiltAt(rebuiltAt)
+                    .rebuildMillis(rebuildMillis)
+                    .policies(policies)
+                    .failedPaymentsInWindow(failedInWindow)
+                    .signals(List.of(
+                            signal(Signal.REPEATED_PAYMENT_FAILURES, repeatedFailures, policies),
+                            signal(Signal.COVERAGE_PREMIUM_OUTLIER, outliers(state), policies),
+                            signal(Signal.EARLY_CANCELLATION, state.earlyCancellations, policies)))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes every signal into a fresh state and swaps it in. Changes reported while the
+     * cursors are open may be counted twice or not at all; the next rebuild corrects them.
+     */
+    public Optional<FraudSignalSummary> rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            State fresh = new State();
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streaming.setFetchSize(1000);
+
+            LocalDate from = LocalDate.now().minusDays(failureWindowDays);
+            streaming.query("SELECT policy_id, COALESCE(processed_date, payment_date, due_date) FROM premium_payments "
+                            + "WHERE status = 'FAILED' AND COALESCE(processed_date, payment_date, due_date) >= ?",
+                    rs -> {
+                        fresh.failures.computeIfAbsent(rs.getLong(1), id -> new FailureWindow())
+                                .add(rs.getDate(2).toLocalDate().toEpochDay());
+                    },
+                    Date.valueOf(from));
+
+            long[][] ids = {new long[1024]};
+            double[][] ratios = {new double[1024]};
+            int[] size = {0};
+            streaming.query("SELECT policy_id, coverage_amount, premium_amount, status, issue_date, start_date, "
+                            + "last_modified_date FROM policies ORDER BY policy_id",
+                    rs -> {
+                        String status = rs.getString(4);
+                        PolicyRow row = new PolicyRow(rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3),
+                                status == null ? null : Policy.PolicyStatus.valueOf(status),
+                                toLocalDate(rs.getDate(5)), toLocalDate(rs.getDate(6)), toLocalDate(rs.getDate(7)));
+                        double ratio = addPolicy(fresh, row);
+                        if (size[0] == ids[0].length) {
+                            ids[0] = Arrays.copyOf(ids[0], size[0] * 2);
+                            ratios[0] = Arrays.copyOf(ratios[0], size[0] * 2);
+                        }
+                        ids[0][size[0]] = row.id();
+                        ratios[0][size[0]++] = ratio;
+                    });
+            fresh.ratioIds = Arrays.copyOf(ids[0], size[0]);
+            fresh.ratioValues = Arrays.copyOf(ratios[0], size[0]);
+
+            lock.writeLock().lock();
+            try {
+                state = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuiltAt = startedAt;
+            rebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            FraudSignalSummary summary = summary();
+            log.info("Fraud signals rebuilt over {} policies in {} ms: {}", summary.getPolicies(), rebuildMillis,
+                    summary.getSignals().stream().map(s -> s.getType() + "=" + s.getCount()).toList());
+            return Optional.of(summary);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private RiskReport saveReport(FraudSignalSummary summary) {
+        String content;
+        try {
+            content = objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise fraud signals", e);
+        }
+        long flagged = summary.getSignals().stream().mapToLong(FraudSignal::getCount).sum();
+        return reportRepository.save(RiskReport.builder()
+                .reportName("Fraud signals: " + flagged + " flags over " + summary.getPolicies() + " policies")
+                .reportType(REPORT_TYPE)
+                .generatedDate(LocalDate.now())
+                .generatedBy("system")
+                .reportContent(content)
+                .build());
+    }
+
+    // Counts the policy and flags an early cancellation; returns its log ratio, NaN if it has none
+    private double addPolicy(State s, PolicyRow row) {
+        s.policies.incrementAndGet();
+        double ratio = logRatio(row.coverage(), row.premium());
+        if (!Double.isNaN(ratio)) {
+            s.ratios.add(ratio);
+        }
+        if (row.status() == Policy.PolicyStatus.CANCELLED && row.lastModifiedDate() != null) {
+            LocalDate issued = row.issueDate() != null ? row.issueDate() : row.startDate();
+            if (issued != null) {
+                long days = ChronoUnit.DAYS.between(issued, row.lastModifiedDate());
+                if (days >= 0 && days <= earlyCancellationDays) {
+                    s.earlyCancellations.put(row.id(), (double) (earlyCancellationDays - days));
+                }
+            }
+        }
+        return ratio;
+    }
+
+    /**
+     * Sweeps every policy's ratio against the current mean and deviation and returns the outliers
+     * with their |z| as severity. Policies changed since the rebuild are judged on their latest ratio.
+     */
+    private Map<Long, Double> outliers(State s) {
+        Map<Long, Double> outliers = new HashMap<>();
+        double[] moments = s.ratios.meanAndDeviation();
+        if (moments == null || moments[1] == 0) {
+            return outliers;
+        }
+        double mean = moments[0];
+        double limit = outlierZ * moments[1];
+        long[] ids = s.ratioIds;
+        double[] ratios = s.ratioValues;
+        for (int i = 0; i < ids.length; i++) {
+            // NaN fails the comparison
+            if (Math.abs(ratios[i] - mean) > limit && !s.ratioChanges.containsKey(ids[i])) {
+                outliers.put(ids[i], Math.abs(ratios[i] - mean) / moments[1]);
+            }
+        }
+        s.ratioChanges.forEach((id, ratio) -> {
+            if (Math.abs(ratio - mean) > limit) {
+                outliers.put(id, Math.abs(ratio - mean) / moments[1]);
+            }
+        });
+        return outliers;
+    }
+
+    private static FraudSignal signal(Signal signal, Map<Long, Double> flagged, long policies) {
+        List<Long> top = flagged.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TOP_POLICIES)
+                .map(Map.Entry::getKey)
+                .toList();
+        return FraudSignal.builder()
+                .type(signal.name())
+                .label(signal.label())
+                .count(flagged.size())
+                .percentage(policies > 0 ? Math.round(flagged.size() * 10000.0 / policies) / 100.0 : 0)
+                .policyIds(top)
+                .build();
+    }
+
+    private void withReadLock(Consumer<State> update) {
+        lock.readLock().lock();
+        try {
+            update.accept(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static PolicyRow row(Policy policy) {
+        return new PolicyRow(policy.getPolicyId(), policy.getCoverageAmount(), policy.getPremiumAmount(),
+                policy.getStatus(), policy.getIssueDate(), policy.getStartDate(), policy.getLastModifiedDate());
+    }
+
+    private static LocalDate failureDate(PremiumPayment payment) {
+        if (payment.getStatus() != PremiumPayment.PaymentStatus.FAILED) {
+            return null;
+        }
+        if (payment.getProcessedDate() != null) {
+            return payment.getProcessedDate();
+        }
+        return payment.getPaymentDate() != null ? payment.getPaymentDate() : payment.getDueDate();
+    }
+
+    private static double logRatio(BigDecimal coverage, BigDecimal premium) {
+        if (coverage == null || premium == null || coverage.signum() <= 0 || premium.signum() <= 0) {
+            return Double.NaN;
+        }
+        return Math.log(coverage.doubleValue() / premium.doubleValue());
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toLocalDate();
+    }
+}
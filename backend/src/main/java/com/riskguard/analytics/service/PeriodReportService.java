@@ -0,0 +1,251 @@
+package com.riskguard.analytics.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskguard.analytics.dto.ReportTotals;
+import com.riskguard.analytics.entity.RiskReport;
+import com.riskguard.analytics.repository.RiskReportRepository;
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates DAILY, WEEKLY and MONTHLY {@link RiskReport} snapshots. A daily report is one
+ * streaming pass over that day's assessments on the assessment_date index; weekly (Monday to
+ * Sunday) and monthly reports are summed from the daily snapshots, generating any that are
+ * missing first, so history is never rescanned. Exact totals are kept in the report content.
+ * Only periods that have ended are generated, and a period's snapshot is never regenerated: a
+ * unique (reportType, periodStart) index makes the first stored snapshot win across instances.
+ */
+@Slf4j
+@Service
+public class PeriodReportService {
+
+    public enum Period {
+        DAILY, WEEKLY, MONTHLY;
+
+        public LocalDate start(LocalDate day) {
+            return switch (this) {
+                case DAILY -> day;
+                case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY -> day.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate end(LocalDate start) {
+            return switch (this) {
+                case DAILY -> start;
+                case WEEKLY -> start.plusDays(6);
+                case MONTHLY -> start.with(TemporalAdjusters.lastDayOfMonth());
+            };
+        }
+
+        // Default trend window ending at the given day
+        LocalDate trendFrom(LocalDate to) {
+            return switch (this) {
+                case DAILY -> to.minusDays(29);
+                case WEEKLY -> to.minusWeeks(11);
+                case MONTHLY -> to.minusMonths(11);
+            };
+        }
+    }
+
+    private static final String DAILY_SCAN =
+            "SELECT risk_score, risk_level, result FROM risk_assessments WHERE assessment_date = ?";
+
+    @Autowired
+    private RiskReportRepository reportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** True for report types owned by this service, which clients may not create or edit. */
+    public static boolean isPeriodType(String reportType) {
+        for (Period period : Period.values()) {
+            if (period.name().equals(reportType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(cron = "${riskguard.reports.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        generateEndingOn(LocalDate.now().minusDays(1));
+    }
+
+    /** Generates the day's report and the weekly and monthly reports that end on that day. */
+    public List<RiskReport> generateEndingOn(LocalDate day) {
+        List<RiskReport> reports = new ArrayList<>();
+        for (Period period : Period.values()) {
+            if (period.end(period.start(day)).equals(day)) {
+                reports.add(generate(period, day));
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Returns the snapshot for the period containing {@code day}, generating it if it doesn't exist
+     * yet. Throws {@link IllegalArgumentException} if the period hasn't ended before today.
+     */
+    public synchronized RiskReport generate(Period period, LocalDate day) {
+        LocalDate start = period.start(day);
+        LocalDate end = period.end(start);
+        if (!end.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException(period + " period starting " + start + " has not ended");
+        }
+        RiskReport existing = reportRepository.findByReportTypeAndPeriodStart(period.name(), start).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        long started = System.currentTimeMillis();
+        ReportTotals totals = period == Period.DAILY ? scanDay(start) : rollUp(start, end);
+        RiskReport report;
+        try {
+            report = reportRepository.save(RiskReport.builder()
+                    .reportName(name(period, start, end))
+                    .reportType(period.name())
+                    .periodStart(start)
+                    .periodEnd(end)
+                    .totalAssessments(totals.getAssessments())
+                    .approvedCount(totals.getApproved())
+                    .declinedCount(totals.getDeclined())
+                    .reviewRequiredCount(totals.getReviewRequired())
+                    .averageRiskScore(totals.getScoredAssessments() > 0
+                            ? round2(totals.getRiskScoreSum() / totals.getScoredAssessments()) : null)
+                    .approvalRate(totals.getAssessments() > 0
+                            ? round2(totals.getApproved() * 100.0 / totals.getAssessments()) : 0.0)
+                    .generatedDate(LocalDate.now())
+                    .generatedBy("system")
+                    .reportContent(write(totals))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // The lock is per JVM: another instance stored this period first, and its snapshot wins
+            log.info("{} report for {} was generated concurrently elsewhere; returning the stored one", period, start);
+            return reportRepository.findByReportTypeAndPeriodStart(period.name(), start).orElseThrow(() -> e);
+        }
+        log.info("{} report for {} to {} generated over {} assessments in {} ms",
+                period, start, end, totals.getAssessments(), System.currentTimeMillis() - started);
+        auditService.log("GENERATE_REPORT", "RiskReport", report.getReportId(), "system",
+                "type=" + period + ";periodStart=" + start + ";assessments=" + totals.getAssessments());
+        return report;
+    }
+
+    /** Stored snapshots of one period type, oldest first, with period starts in [from, to]. */
+    public List<RiskReport> trend(Period period, LocalDate from, LocalDate to) {
+        LocalDate until = to != null ? to : LocalDate.now();
+        LocalDate since = from != null ? from : period.trendFrom(until);
+        return reportRepository.findByReportTypeAndPeriodStartBetweenOrderByPeriodStartAsc(
+                period.name(), period.start(since), until);
+    }
+
+    private ReportTotals scanDay(LocalDate day) {
+        ReportTotals totals = emptyTotals();
+        long[] counts = new long[RiskAssessment.RiskLevel.values().length];
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        streaming.query(DAILY_SCAN, rs -> {
+            totals.setAssessments(totals.getAssessments() + 1);
+            double score = rs.getDouble(1);
+            if (!rs.wasNull()) {
+                totals.setScoredAssessments(totals.getScoredAssessments() + 1);
+                totals.setRiskScoreSum(totals.getRiskScoreSum() + score);
+            }
+            String level = rs.getString(2);
+            if (level != null) {
+                counts[RiskAssessment.RiskLevel.valueOf(level).ordinal()]++;
+            }
+            String result = rs.getString(3);
+            if (RiskAssessment.AssessmentResult.APPROVED.name().equals(result)) {
+                totals.setApproved(totals.getApproved() + 1);
+            } else if (RiskAssessment.AssessmentResult.DECLINED.name().equals(result)) {
+                totals.setDeclined(totals.getDeclined() + 1);
+            } else if (RiskAssessment.AssessmentResult.REVIEW_REQUIRED.name().equals(result)) {
+                totals.setReviewRequired(totals.getReviewRequired() + 1);
+            }
+        }, Date.valueOf(day));
+        for (RiskAssessment.RiskLevel level : RiskAssessment.RiskLevel.values()) {
+            totals.getByRiskLevel().put(level.name(), counts[level.ordinal()]);
+        }
+        return totals;
+    }
+
+    private ReportTotals rollUp(LocalDate start, LocalDate end) {
+        Map<LocalDate, RiskReport> dailies = new HashMap<>();
+        reportRepository.findByReportTypeAndPeriodStartBetweenOrderByPeriodStartAsc(Period.DAILY.name(), start, end)
+                .forEach(report -> dailies.put(report.getPeriodStart(), report));
+        ReportTotals totals = emptyTotals();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            RiskReport daily = dailies.get(day);
+            ReportTotals part = read(daily != null ? daily : generate(Period.DAILY, day));
+            totals.setAssessments(totals.getAssessments() + part.getAssessments());
+            totals.setScoredAssessments(totals.getScoredAssessments() + part.getScoredAssessments());
+            totals.setRiskScoreSum(totals.getRiskScoreSum() + part.getRiskScoreSum());
+            totals.setApproved(totals.getApproved() + part.getApproved());
+            totals.setDeclined(totals.getDeclined() + part.getDeclined());
+            totals.setReviewRequired(totals.getReviewRequired() + part.getReviewRequired());
+            part.getByRiskLevel().forEach((level, count) -> totals.getByRiskLevel().merge(level, count, Long::sum));
+            totals.setDailyReports(totals.getDailyReports() + 1);
+        }
+        return totals;
+    }
+
+    private static ReportTotals emptyTotals() {
+        Map<String, Long> byRiskLevel = new LinkedHashMap<>();
+        for (RiskAssessment.RiskLevel level : RiskAssessment.RiskLevel.values()) {
+            byRiskLevel.put(level.name(), 0L);
+        }
+        return ReportTotals.builder().byRiskLevel(byRiskLevel).build();
+    }
+
+    private static String name(Period period, LocalDate start, LocalDate end) {
+        return switch (period) {
+            case DAILY -> "Daily risk report " + start;
+            case WEEKLY -> "Weekly risk report " + start + " to " + end;
+            case MONTHLY -> "Monthly risk report " + start.toString().substring(0, 7);
+        };
+    }
+
+    private String write(ReportTotals totals) {
+        try {
+            return objectMapper.writeValueAsString(totals);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise report totals", e);
+        }
+    }
+
+    private ReportTotals read(RiskReport report) {
+        try {
+            return objectMapper.readValue(report.getReportContent(), ReportTotals.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Report " + report.getReportId() + " has unreadable totals", e);
+        }
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -1,30 +1,82 @@
 package com.riskguard.audit.controller;
 
+import com.riskguard.audit.dto.AuditLogQuery;
+import com.riskguard.audit.dto.AuditPipelineStats;
 import com.riskguard.audit.entity.AuditLog;
 import com.riskguard.audit.repository.AuditLogRepository;
+import com.riskguard.audit.service.AuditQueryService;
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/audit-logs")
 public class AuditLogController {
 
+    private static final Set<String> SORT_KEYS = Set.of("timestamp");
+
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditQueryService auditQueryService;
+
     @GetMapping
     public ResponseEntity<List<AuditLog>> getAllAuditLogs() {
         return ResponseEntity.ok(auditLogRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<AuditLog>> getAuditLogsPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(AuditLog.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAuditLogs() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(AuditLog.class, out));
+    }
+
+    @GetMapping("/pipeline")
+    public ResponseEntity<AuditPipelineStats> getPipelineStats() {
+        return ResponseEntity.ok(auditService.stats());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<AuditLog>> searchAuditLogs(AuditLogQuery query) {
+        try {
+            return ResponseEntity.ok(auditQueryService.search(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/entity/{entityType}")
     public ResponseEntity<List<AuditLog>> getAuditLogsByEntity(@PathVariable String entityType) {
-        List<AuditLog> logs = auditLogRepository.findAll().stream()
-                .filter(log -> log.getEntityType().equalsIgnoreCase(entityType))
-                .toList();
-        return ResponseEntity.ok(logs);
+        return ResponseEntity.ok(auditLogRepository.findByEntityTypeOrderByTimestampDescIdDesc(entityType));
+    }
+
+    @GetMapping("/entity/{entityType}/{entityId}")
+    public ResponseEntity<List<AuditLog>> getAuditTrail(@PathVariable String entityType, @PathVariable Long entityId) {
+        return ResponseEntity.ok(auditLogRepository.findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(entityType, entityId));
     }
 }
@@ -0,0 +1,31 @@
+package com.riskguard.audit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for {@code GET /api/audit-logs/search}. All filters are optional and combined with
+ * AND; {@code from} is inclusive and {@code to} exclusive. Results are newest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogQuery {
+    private String entityType;
+    private Long entityId;
+    private String actor;
+    private String action;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private String cursor;
+    private int limit = 50;
+}
@@ -0,0 +1,25 @@
+package com.riskguard.audit.dto;
+
+import com.riskguard.audit.service.AuditService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditPipelineStats {
+    private AuditService.DurabilityMode mode;
+    private int queueDepth;
+    private int queueCapacity;
+    private int maxQueueDepth;
+    private long enqueued;
+    private long written;
+    private long batches;
+    // Entries written on the request thread because the queue was full
+    private long callerRuns;
+    private long failed;
+    private long lastBatchMillis;
+}
@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_audit_entity", columnList = "entityType, entityId, timestamp"),
+        @Index(name = "idx_audit_actor", columnList = "actor, timestamp"),
+        @Index(name = "idx_audit_action", columnList = "action, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
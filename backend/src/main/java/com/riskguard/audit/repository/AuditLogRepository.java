@@ -3,5 +3,9 @@ package com.riskguard.audit.repository;
 import com.riskguard.audit.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+    List<AuditLog> findByEntityTypeOrderByTimestampDescIdDesc(String entityType);
+    List<AuditLog> findByEntityTypeAndEntityIdOrderByTimestampDescIdDesc(String entityType, Long entityId);
 }
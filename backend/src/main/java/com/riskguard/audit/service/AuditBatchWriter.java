@@ -0,0 +1,41 @@
+package com.riskguard.audit.service;
+
+import com.riskguard.audit.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@Component
+public class AuditBatchWriter {
+
+    private static final String INSERT_AUDIT_LOG =
+            "INSERT INTO audit_logs (action, entity_type, entity_id, actor, timestamp, details) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // One transaction, so a batch that fails leaves no rows behind and can be retried whole
+    @Transactional
+    public void insertAll(List<AuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG, logs, logs.size(), (ps, log) -> {
+            ps.setString(1, log.getAction());
+            ps.setString(2, log.getEntityType());
+            if (log.getEntityId() != null) {
+                ps.setLong(3, log.getEntityId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, log.getActor());
+            ps.setTimestamp(5, Timestamp.valueOf(log.getTimestamp()));
+            ps.setString(6, log.getDetails());
+        });
+    }
+}
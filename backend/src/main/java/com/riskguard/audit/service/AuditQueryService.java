@@ -0,0 +1,94 @@
+package com.riskguard.audit.service;
+
+import com.riskguard.audit.dto.AuditLogQuery;
+import com.riskguard.audit.entity.AuditLog;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.KeysetPager;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Newest-first audit trail search. Each equality filter leads one of the composite indexes on
+ * {@code audit_logs} with {@code timestamp} as the next column, so the time range and the
+ * {@code (timestamp, id)} cursor are resolved by an index range scan.
+ */
+@Service
+public class AuditQueryService {
+
+    static final int MAX_LIMIT = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> search(AuditLogQuery query) {
+        if (query.getEntityId() != null && query.getEntityType() == null) {
+            throw new IllegalArgumentException("entityId requires entityType");
+        }
+        int limit = Math.max(1, Math.min(MAX_LIMIT, query.getLimit()));
+        KeysetPager.Cursor cursor = KeysetPager.Cursor.decode(query.getCursor(), LocalDateTime.class);
+        if (cursor != null && cursor.value() == null) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (query.getEntityType() != null) {
+            where.add("a.entityType = :entityType");
+            params.put("entityType", query.getEntityType());
+        }
+        if (query.getEntityId() != null) {
+            where.add("a.entityId = :entityId");
+            params.put("entityId", query.getEntityId());
+        }
+        if (query.getActor() != null) {
+            where.add("a.actor = :actor");
+            params.put("actor", query.getActor());
+        }
+        if (query.getAction() != null) {
+            where.add("a.action = :action");
+            params.put("action", query.getAction());
+        }
+        if (query.getFrom() != null) {
+            where.add("a.timestamp >= :from");
+            params.put("from", query.getFrom());
+        }
+        if (query.getTo() != null) {
+            where.add("a.timestamp < :to");
+            params.put("to", query.getTo());
+        }
+        if (cursor != null) {
+            where.add("(a.timestamp < :cursorTs OR (a.timestamp = :cursorTs AND a.id < :cursorId))");
+            params.put("cursorTs", cursor.value());
+            params.put("cursorId", cursor.id());
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT a FROM AuditLog a");
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        jpql.append(" ORDER BY a.timestamp DESC, a.id DESC");
+
+        TypedQuery<AuditLog> typed = entityManager.createQuery(jpql.toString(), AuditLog.class);
+        params.forEach(typed::setParameter);
+        List<AuditLog> rows = typed.setMaxResults(limit + 1).getResultList();
+
+        boolean hasMore = rows.size() > limit;
+        List<AuditLog> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            AuditLog last = items.get(items.size() - 1);
+            next = KeysetPager.Cursor.encode(last.getId(), last.getTimestamp());
+        }
+        return new CursorPage<>(List.copyOf(items), next, hasMore);
+    }
+}
@@ -1,27 +1,251 @@
 package com.riskguard.audit.service;
 
+import com.riskguard.audit.dto.AuditPipelineStats;
 import com.riskguard.audit.entity.AuditLog;
-import com.riskguard.audit.repository.AuditLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Write-behind audit trail. In {@code FIRE_AND_FORGET} mode entries go onto a bounded lock-free
+ * queue and a background flusher writes them with JDBC batch inserts; when the queue is full the
+ * caller writes its own entry instead of dropping it. In {@code FLUSH_BEFORE_COMMIT} mode entries
+ * logged inside a transaction (today only bulk decisions) are buffered and batch-inserted just
+ * before that transaction commits. Most callers, the controllers included, log after their save
+ * outside any transaction, so for them this mode is a plain synchronous insert on the request
+ * thread with no write-behind at all.
+ */
+@Slf4j
 @Service
 public class AuditService {
 
+    public enum DurabilityMode {
+        FIRE_AND_FORGET, FLUSH_BEFORE_COMMIT
+    }
+
+    @Value("${riskguard.audit.mode:FIRE_AND_FORGET}")
+    private DurabilityMode mode;
+
+    @Value("${riskguard.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${riskguard.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${riskguard.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditBatchWriter batchWriter;
+
+    private final Queue<AuditLog> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is O(n), so depth is tracked separately
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastBatchMillis;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @PostConstruct
+    void startFlusher() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
 
     public void log(String action, String entityType, Long entityId, String actor, String details) {
-        AuditLog log = AuditLog.builder()
+        submit(AuditLog.builder()
                 .action(action)
                 .entityType(entityType)
                 .entityId(entityId)
                 .actor(actor)
                 .timestamp(LocalDateTime.now())
                 .details(details)
+                .build());
+    }
+
+    public void logAll(List<AuditLog> logs) {
+        for (AuditLog log : logs) {
+            if (log.getTimestamp() == null) {
+                log.setTimestamp(LocalDateTime.now());
+            }
+        }
+        if (mode == DurabilityMode.FLUSH_BEFORE_COMMIT) {
+            logs.forEach(this::submit);
+            return;
+        }
+        // Queue what fits and write only the overflow on the caller's thread, as one batch
+        List<AuditLog> overflow = new ArrayList<>();
+        for (AuditLog entry : logs) {
+            if (!running || !tryEnqueue(entry)) {
+                overflow.add(entry);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            callerRuns.addAndGet(overflow.size());
+            writeNow(overflow);
+        }
+    }
+
+    private void submit(AuditLog entry) {
+        if (mode == DurabilityMode.FLUSH_BEFORE_COMMIT) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                transactionBuffer().add(entry);
+            } else {
+                writeNow(List.of(entry));
+            }
+            return;
+        }
+        if (!running || !tryEnqueue(entry)) {
+            callerRuns.incrementAndGet();
+            writeNow(List.of(entry));
+        }
+    }
+
+    private boolean tryEnqueue(AuditLog entry) {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= queueCapacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        queue.offer(entry);
+        enqueued.incrementAndGet();
+        maxDepth.accumulateAndGet(current + 1, Math::max);
+        if (current + 1 >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AuditLog> transactionBuffer() {
+        List<AuditLog> buffer = (List<AuditLog>) TransactionSynchronizationManager.getResource(this);
+        if (buffer == null) {
+            List<AuditLog> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    writeNow(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditService.this);
+                }
+            });
+            buffer = created;
+        }
+        return buffer;
+    }
+
+    private void writeNow(List<AuditLog> entries) {
+        long started = System.nanoTime();
+        batchWriter.insertAll(entries);
+        written.addAndGet(entries.size());
+        batches.incrementAndGet();
+        lastBatchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    private void flushLoop() {
+        while (running) {
+            if (drain() < batchSize) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+            }
+        }
+    }
+
+    /**
+     * Writes up to one batch from the queue and returns how many entries it took. A failed batch
+     * is retried once, e.g. after a lost connection or a deadlock, and then written row by row, so
+     * a bad row is logged and counted on its own without holding up the rest or stalling the
+     * pipeline.
+     */
+    private int drain() {
+        List<AuditLog> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, depth.get())));
+        AuditLog entry;
+        while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        depth.addAndGet(-batch.size());
+        try {
+            writeNow(batch);
+        } catch (Exception e) {
+            log.warn("Failed to write {} audit log entries, retrying", batch.size(), e);
+            retry(batch);
+        }
+        return batch.size();
+    }
+
+    private void retry(List<AuditLog> batch) {
+        try {
+            writeNow(batch);
+            return;
+        } catch (Exception e) {
+            log.warn("Retry of {} audit log entries failed, writing them one at a time", batch.size(), e);
+        }
+        for (AuditLog entry : batch) {
+            try {
+                writeNow(List.of(entry));
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.error("Failed to write audit log entry {} {}#{}", entry.getAction(), entry.getEntityType(),
+                        entry.getEntityId(), e);
+            }
+        }
+    }
+
+    public AuditPipelineStats stats() {
+        return AuditPipelineStats.builder()
+                .mode(mode)
+                .queueDepth(depth.get())
+                .queueCapacity(queueCapacity)
+                .maxQueueDepth(maxDepth.get())
+                .enqueued(enqueued.get())
+                .written(written.get())
+                .batches(batches.get())
+                .callerRuns(callerRuns.get())
+                .failed(failed.get())
+                .lastBatchMillis(lastBatchMillis)
                 .build();
-        auditLogRepository.save(log);
+    }
+
+    @PreDestroy
+    void drainOnShutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything logged after the flusher stopped is still on the queue
+        while (drain() > 0) {
+            // keep draining
+        }
+        log.info("Audit pipeline drained: {} written, {} failed", written.get(), failed.get());
     }
 }
@@ -0,0 +1,45 @@
+package com.riskguard.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                Cache<Object, Object> cache = caffeineCache.getNativeCache();
+                com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.stats();
+                stats.add(CacheStats.builder()
+                        .name(name)
+                        .size(cache.estimatedSize())
+                        .hits(s.hitCount())
+                        .misses(s.missCount())
+                        .hitRate(Math.round(s.hitRate() * 10000) / 10000.0)
+                        .evictions(s.evictionCount())
+                        .build());
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.riskguard.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+    private long id;
+    private ChangeEventBus.EntityType entityType;
+    private ChangeEventBus.Action action;
+    // Null for BULK events
+    private Long entityId;
+    // Set when the row carries one, so clients can filter to a single customer
+    private Long customerId;
+    private LocalDateTime occurredAt;
+    // The saved row for CREATED and UPDATED, the deleted row for DELETED, {count} for BULK
+    private Object payload;
+}
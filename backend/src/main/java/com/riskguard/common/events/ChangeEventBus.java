@@ -0,0 +1,277 @@
+package com.riskguard.common.events;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Pushes create, update and delete events to dashboards over Server-Sent Events. Publishing is
+ * cheap and never blocks on a client: under one lock the event gets the next ID, goes into a
+ * fixed ring buffer for replay, and is offered to the bounded queue of every subscriber whose
+ * filter accepts it. A small sender pool drains each queue onto its connection. A client whose
+ * queue fills up is disconnected; the browser reconnects with {@code Last-Event-ID} and is
+ * replayed from the ring, or told to resync when it has fallen off the end.
+ *
+ * <p>Set-based changes publish one event per row up to {@code riskguard.events.bulk-threshold}
+ * rows, so dashboards patch their lists in place; only larger changes send a single BULK event,
+ * which makes clients refetch the list of that entity type.
+ *
+ * <p>IDs start from the boot time in microseconds, so an ID remembered from before a restart is
+ * always older than the ring and produces a resync rather than a silent gap.
+ */
+@Slf4j
+@Service
+public class ChangeEventBus {
+
+    public enum EntityType {
+        ASSESSMENT, DECISION, POLICY, PAYMENT
+    }
+
+    public enum Action {
+        CREATED, UPDATED, DELETED,
+        // A set-based change to many rows; clients refetch what they show
+        BULK
+    }
+
+    /** Per-client filter; an empty type set accepts every type. */
+    public record Filter(Set<EntityType> types, Long customerId) {
+
+        boolean accepts(ChangeEvent event) {
+            return (types.isEmpty() || types.contains(event.getEntityType()))
+                    && (customerId == null || event.getAction() == Action.BULK || customerId.equals(event.getCustomerId()));
+        }
+    }
+
+    @Value("${riskguard.events.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${riskguard.events.client-queue-size:500}")
+    private int clientQueueSize;
+
+    @Value("${riskguard.events.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${riskguard.events.max-clients:1000}")
+    private int maxClients;
+
+    @Value("${riskguard.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${riskguard.events.bulk-threshold:50}")
+    private int bulkThreshold;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+    private final AtomicLong resyncsSent = new AtomicLong();
+    private ExecutorService senders;
+
+    // Guarded by this
+    private ChangeEvent[] ring;
+    private long firstId;
+    private long nextId;
+
+    @PostConstruct
+    void start() {
+        ring = new ChangeEvent[replaySize];
+        firstId = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        nextId = firstId;
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    public void publish(EntityType type, Action action, Long entityId, Long customerId, Object payload) {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            ChangeEvent event = new ChangeEvent(nextId, type, action, entityId, customerId, now, payload);
+            ring[(int) (nextId % ring.length)] = event;
+            nextId++;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    public void publishBulk(EntityType type, long count) {
+        if (count > 0) {
+            publish(type, Action.BULK, null, null, Map.of("count", count));
+        }
+    }
+
+    /** True when a change to this many rows goes out as one BULK event rather than per row. */
+    public boolean isBulk(long count) {
+        return count > bulkThreshold;
+    }
+
+    /** One event per row, or a single BULK event when there are more rows than the threshold. */
+    public <T> void publishAll(EntityType type, Action action, Collection<T> rows,
+                               Function<T, Long> entityId, Function<T, Long> customerId) {
+        if (isBulk(rows.size())) {
+            publishBulk(type, rows.size());
+            return;
+        }
+        for (T row : rows) {
+            publish(type, action, entityId.apply(row), customerId.apply(row), row);
+        }
+    }
+
+    /**
+     * Opens a stream for one client. When {@code lastEventId} is given, every later event still
+     * in the ring is sent first; if some have already been overwritten the client gets a
+     * {@code resync} event instead and should refetch its lists. Registration and replay happen
+     * under the publish lock, so no event is missed or sent twice.
+     */
+    public SseEmitter subscribe(Filter filter, Long lastEventId) {
+        if (subscribers.size() >= maxClients) {
+            throw new IllegalStateException("Too many event stream clients");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(clientQueueSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (this) {
+            if (lastEventId != null) {
+                long oldest = Math.max(firstId, nextId - ring.length);
+                if (lastEventId + 1 < oldest || lastEventId >= nextId) {
+                    subscriber.resync = true;
+                } else {
+                    for (long id = lastEventId + 1; id < nextId; id++) {
+                        subscriber.offer(ring[(int) (id % ring.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    // Keeps idle connections open through proxies and finds clients that have gone away
+    @Scheduled(fixedDelayString = "${riskguard.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    public synchronized EventStreamStats stats() {
+        return EventStreamStats.builder()
+                .clients(subscribers.size())
+                .published(nextId - firstId)
+                .lastEventId(nextId - 1)
+                .oldestReplayableId(Math.max(firstId, nextId - ring.length))
+                .replayCapacity(ring.length)
+                .overflowDisconnects(overflowDisconnects.get())
+                .resyncsSent(resyncsSent.get())
+                .build();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.hasWork() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.resync) {
+                subscriber.resync = false;
+                subscriber.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+                resyncsSent.incrementAndGet();
+            }
+            if (subscriber.overflowed) {
+                overflowDisconnects.incrementAndGet();
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                return;
+            }
+            ChangeEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.getId()))
+                        .name("change")
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter
+            subscribers.remove(subscriber);
+            log.debug("Dropping event stream client: {}", e.getMessage());
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Events offered after the last poll but before draining was cleared
+        schedule(subscriber);
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Filter filter;
+        final BlockingQueue<ChangeEvent> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean resync;
+        volatile boolean overflowed;
+        volatile boolean heartbeatDue;
+
+        Subscriber(SseEmitter emitter, Filter filter, BlockingQueue<ChangeEvent> queue) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = queue;
+        }
+
+        void offer(ChangeEvent event) {
+            if (!overflowed && filter.accepts(event) && !queue.offer(event)) {
+                overflowed = true;
+                queue.clear();
+            }
+        }
+
+        boolean hasWork() {
+            return resync || overflowed || heartbeatDue || !queue.isEmpty();
+        }
+    }
+}
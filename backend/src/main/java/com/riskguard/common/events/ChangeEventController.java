@@ -0,0 +1,44 @@
+package com.riskguard.common.events;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/events")
+public class ChangeEventController {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    /**
+     * Server-Sent Events stream of changes. {@code types} is a comma-separated list of entity
+     * types (all when omitted); {@code lastEventId} may be passed as a parameter by clients that
+     * cannot set the {@code Last-Event-ID} header.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Set<ChangeEventBus.EntityType> types,
+                                             @RequestParam(required = false) Long customerId,
+                                             @RequestParam(required = false) Long lastEventId,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader) {
+        ChangeEventBus.Filter filter = new ChangeEventBus.Filter(
+                types == null || types.isEmpty() ? Set.of() : EnumSet.copyOf(types), customerId);
+        try {
+            return ResponseEntity.ok(changeEventBus.subscribe(filter,
+                    lastEventIdHeader != null ? lastEventIdHeader : lastEventId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<EventStreamStats> stats() {
+        return ResponseEntity.ok(changeEventBus.stats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.riskguard.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventStreamStats {
+    private int clients;
+    private long published;
+    private long lastEventId;
+    private long oldestReplayableId;
+    private int replayCapacity;
+    // Clients disconnected because their send queue filled up
+    private long overflowDisconnects;
+    private long resyncsSent;
+}
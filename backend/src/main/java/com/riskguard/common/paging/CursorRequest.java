@@ -0,0 +1,20 @@
+package com.riskguard.common.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for a keyset page: {@code ?cursor=&limit=&sort=&direction=}. Pass the
+ * {@code nextCursor} of the previous page to continue; the sort and direction must not change
+ * between pages.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorRequest {
+    private String cursor;
+    private int limit = 50;
+    private String sort;
+    private String direction = "asc";
+}
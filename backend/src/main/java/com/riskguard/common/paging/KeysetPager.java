@@ -0,0 +1,196 @@
+package com.riskguard.common.paging;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Cursor pagination and NDJSON streaming for any entity with a single {@code Long} ID.
+ * Pages seek on {@code (sortKey, id)} instead of using OFFSET, so every page costs the same
+ * index range scan. Null sort values are assumed to sort low, as they do in MySQL.
+ */
+@Service
+public class KeysetPager {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final int MAX_LIMIT = 1000;
+    private static final int FLUSH_EVERY = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${riskguard.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Returns one page of {@code type}. {@code sortKeys} lists the attributes callers may sort by
+     * in addition to the ID; anything else is rejected with {@link IllegalArgumentException}.
+     */
+    @Transactional(readOnly = true)
+    public <T> CursorPage<T> page(Class<T> type, Set<String> sortKeys, CursorRequest request) {
+        EntityType<T> entity = entityManager.getMetamodel().entity(type);
+        String id = idAttribute(entity);
+        String sort = request.getSort() == null || request.getSort().isBlank() ? id : request.getSort();
+        if (!sort.equals(id) && !sortKeys.contains(sort)) {
+            throw new IllegalArgumentException("Unsupported sort key: " + sort);
+        }
+        boolean descending = "desc".equalsIgnoreCase(request.getDirection());
+        if (!descending && !"asc".equalsIgnoreCase(request.getDirection())) {
+            throw new IllegalArgumentException("Unsupported direction: " + request.getDirection());
+        }
+        int limit = Math.max(1, Math.min(MAX_LIMIT, request.getLimit()));
+        boolean byId = sort.equals(id);
+        Class<?> sortType = entity.getAttribute(sort).getJavaType();
+        Cursor cursor = Cursor.decode(request.getCursor(), sortType);
+
+        String gt = descending ? "<" : ">";
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(entity.getName()).append(" e");
+        if (cursor != null) {
+            jpql.append(" WHERE ");
+            if (byId) {
+                jpql.append("e.").append(id).append(' ').append(gt).append(" :id");
+            } else if (cursor.value == null) {
+                // Nulls come first ascending and last descending
+                jpql.append(descending
+                        ? "e.%1$s IS NULL AND e.%2$s < :id"
+                        : "(e.%1$s IS NULL AND e.%2$s > :id) OR e.%1$s IS NOT NULL");
+            } else {
+                jpql.append(descending
+                        ? "e.%1$s < :value OR (e.%1$s = :value AND e.%2$s < :id) OR e.%1$s IS NULL"
+                        : "e.%1$s > :value OR (e.%1$s = :value AND e.%2$s > :id)");
+            }
+        }
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ");
+        if (!byId) {
+            jpql.append("e.").append(sort).append(direction).append(", ");
+        }
+        jpql.append("e.").append(id).append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(String.format(jpql.toString(), sort, id), type);
+        if (cursor != null) {
+            query.setParameter("id", cursor.id);
+            if (!byId && cursor.value != null) {
+                query.setParameter("value", cursor.value);
+            }
+        }
+        List<T> rows = query.setMaxResults(limit + 1).getResultList();
+
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = null;
+        if (hasMore) {
+            BeanWrapperImpl last = new BeanWrapperImpl(items.get(items.size() - 1));
+            next = Cursor.encode((Long) last.getPropertyValue(id), byId ? null : last.getPropertyValue(sort));
+        }
+        return new CursorPage<>(List.copyOf(items), next, hasMore);
+    }
+
+    /**
+     * Writes every row of {@code type} in ID order as newline-delimited JSON. Rows are read
+     * through a JDBC cursor and detached as soon as they are written, so memory use does not
+     * depend on table size.
+     */
+    @Transactional(readOnly = true)
+    public <T> void stream(Class<T> type, OutputStream out) throws IOException {
+        EntityType<T> entity = entityManager.getMetamodel().entity(type);
+        String jpql = "SELECT e FROM " + entity.getName() + " e ORDER BY e." + idAttribute(entity);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // Rows are separated by the newline alone, not the default space before each root value
+        generator.setRootValueSeparator(null);
+        // The mapper flushes after every value by default, which would defeat the batched flushes
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<T> rows = entityManager.createQuery(jpql, type)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            int written = 0;
+            for (T row : (Iterable<T>) rows::iterator) {
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                entityManager.detach(row);
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        generator.flush();
+    }
+
+    private static String idAttribute(EntityType<?> entity) {
+        for (SingularAttribute<?, ?> attribute : entity.getSingularAttributes()) {
+            if (attribute.isId()) {
+                return attribute.getName();
+            }
+        }
+        throw new IllegalStateException("No ID attribute on " + entity.getName());
+    }
+
+    /** Opaque position token: base64url of {@code id} or {@code id|sortValue}. */
+    public record Cursor(Long id, Object value) {
+
+        public static String encode(Long id, Object value) {
+            String raw = value == null ? String.valueOf(id) : id + "|" + (value instanceof Enum<?> e ? e.name() : value);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String token, Class<?> valueType) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            String raw;
+            try {
+                raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+            int split = raw.indexOf('|');
+            try {
+                Long id = Long.valueOf(split < 0 ? raw : raw.substring(0, split));
+                return new Cursor(id, split < 0 ? null : parse(raw.substring(split + 1), valueType));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object parse(String value, Class<?> type) {
+            if (type == String.class) return value;
+            if (type == Long.class) return Long.valueOf(value);
+            if (type == Integer.class) return Integer.valueOf(value);
+            if (type == Double.class) return Double.valueOf(value);
+            if (type == BigDecimal.class) return new BigDecimal(value);
+            if (type == Boolean.class) return Boolean.valueOf(value);
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type.isEnum()) return Enum.valueOf((Class<? extends Enum>) type, value);
+            throw new IllegalArgumentException("Unsupported sort type: " + type.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.riskguard.common.paging;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives NDJSON exports their own async timeout. A full-table stream can outlive the container's
+ * default async timeout, but lifting that globally would also leave any other async request
+ * hanging forever, so the timeout is only changed for responses already committed to NDJSON.
+ */
+@Component
+public class StreamingTimeoutConfigurer implements WebMvcConfigurer {
+
+    @Value("${riskguard.streaming.async-timeout-ms:-1}")
+    private long timeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // StreamingResponseBody has written its headers by the time the task is queued
+                HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+                if (request instanceof AsyncWebRequest async && response != null && isNdjson(response.getContentType())) {
+                    async.setTimeout(timeoutMs);
+                }
+            }
+        });
+    }
+
+    private static boolean isNdjson(String contentType) {
+        return contentType != null && KeysetPager.NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+}
@@ -1,46 +1,156 @@
 package com.riskguard.customer.controller;
 
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.AssessmentCube;
+import com.riskguard.customer.dto.Customer360;
+import com.riskguard.customer.dto.CustomerSearchResult;
+import com.riskguard.customer.dto.ImportReport;
 import com.riskguard.customer.entity.Customer;
 import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.customer.service.Customer360Service;
+import com.riskguard.customer.service.CustomerImportService;
+import com.riskguard.customer.service.CustomerLookupService;
+import com.riskguard.customer.service.CustomerMatchService;
+import com.riskguard.customer.service.CustomerSearchIndex;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/customers")
 public class CustomerController {
 
+    private static final Set<String> SORT_KEYS = Set.of("name", "createdAt");
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private CustomerLookupService customerLookupService;
+
+    @Autowired
+    private CustomerImportService customerImportService;
+
+    @Autowired
+    private Customer360Service customer360Service;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private CustomerMatchService customerMatchService;
+
+    @Autowired
+    private AssessmentCube assessmentCube;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
     @PostMapping
     public ResponseEntity<Customer> createCustomer(@RequestBody Customer customer) {
         Customer savedCustomer = customerRepository.save(customer);
+        analyticsCounters.customerAdded();
+        customerSearchIndex.put(savedCustomer);
+        customerMatchService.check(savedCustomer);
         return ResponseEntity.ok(savedCustomer);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReport> importCustomers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        CustomerImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? CustomerImportService.Format.CSV
+                : CustomerImportService.Format.NDJSON;
+        // Watermarks taken first: customers created during the import must not move them past it
+        long searchFrom = customerSearchIndex.watermark();
+        long matchFrom = customerMatchService.watermark();
+        ImportReport report = customerImportService.importCustomers(body, format);
+        customerSearchIndex.catchUp(searchFrom);
+        customerMatchService.catchUp(matchFrom);
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping
     public ResponseEntity<List<Customer>> getAllCustomers() {
         List<Customer> customers = customerRepository.findAll();
         return ResponseEntity.ok(customers);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Customer>> getCustomersPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(Customer.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamCustomers() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(Customer.class, out));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CustomerSearchResult> searchCustomers(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        if (!customerSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(customerSearchIndex.search(q, Math.max(1, Math.min(MAX_SEARCH_LIMIT, limit))));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
-        Optional<Customer> customer = customerRepository.findById(id);
+        Optional<Customer> customer = customerLookupService.findById(id);
         return customer.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/360")
+    public ResponseEntity<Customer360> getCustomer360(@PathVariable Long id) {
+        try {
+            return customer360Service.load(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (TimeoutException e) {
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+        } catch (RejectedExecutionException e) {
+            // Fan-out queue full
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Customer> updateCustomer(@PathVariable Long id, @RequestBody Customer customer) {
         Optional<Customer> existingCustomer = customerRepository.findById(id);
         if (existingCustomer.isPresent()) {
             customer.setCustomerId(id);
             Customer updated = customerRepository.save(customer);
+            customerLookupService.evict(id);
+            customerSearchIndex.put(updated);
+            customerMatchService.check(updated);
+            assessmentCube.customerChanged(id);
             return ResponseEntity.ok(updated);
         }
         return ResponseEntity.notFound().build();
@@ -50,6 +160,11 @@ public class CustomerController {
     public ResponseEntity<Void> deleteCustomer(@PathVariable Long id) {
         if (customerRepository.existsById(id)) {
             customerRepository.deleteById(id);
+            customerLookupService.evict(id);
+            customerSearchIndex.remove(id);
+            customerMatchService.remove(id);
+            assessmentCube.customerChanged(id);
+            analyticsCounters.customerRemoved();
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,66 @@
+package com.riskguard.customer.controller;
+
+import com.riskguard.customer.dto.MatchScanSummary;
+import com.riskguard.customer.entity.CustomerMatch;
+import com.riskguard.customer.repository.CustomerMatchRepository;
+import com.riskguard.customer.service.CustomerMatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/customer-matches")
+public class CustomerMatchController {
+
+    @Autowired
+    private CustomerMatchRepository customerMatchRepository;
+
+    @Autowired
+    private CustomerMatchService customerMatchService;
+
+    @GetMapping
+    public ResponseEntity<List<CustomerMatch>> getMatches(
+            @RequestParam(defaultValue = "OPEN") CustomerMatch.Status status,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(customerMatchRepository.findByStatusOrderByScoreDescMatchIdAsc(
+                status, PageRequest.of(0, Math.max(1, Math.min(limit, 1000)))));
+    }
+
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<CustomerMatch>> getMatchesForCustomer(@PathVariable Long customerId) {
+        return ResponseEntity.ok(customerMatchRepository.findByCustomer(customerId));
+    }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<CustomerMatch> updateMatchStatus(@PathVariable Long id,
+                                                           @RequestParam CustomerMatch.Status status) {
+        Optional<CustomerMatch> match = customerMatchRepository.findById(id);
+        if (match.isPresent()) {
+            CustomerMatch updated = match.get();
+            updated.setStatus(status);
+            updated.setReviewedAt(status == CustomerMatch.Status.OPEN ? null : LocalDateTime.now());
+            return ResponseEntity.ok(customerMatchRepository.save(updated));
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/scan")
+    public ResponseEntity<MatchScanSummary> getLastScan() {
+        return customerMatchService.lastScan()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/scan")
+    public ResponseEntity<MatchScanSummary> scan() {
+        return customerMatchService.scan()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -0,0 +1,26 @@
+package com.riskguard.customer.dto;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Customer360 {
+    private Customer customer;
+    private List<RiskAssessment> assessments;
+    private List<UnderwritingDecision> decisions;
+    private List<Policy> policies;
+    private List<PremiumPayment> payments;
+    private long elapsedMillis;
+}
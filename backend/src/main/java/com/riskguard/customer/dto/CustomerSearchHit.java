@@ -0,0 +1,19 @@
+package com.riskguard.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSearchHit {
+    private Long customerId;
+    private String name;
+    private String email;
+    private String phone;
+    private String city;
+    private int score;
+}
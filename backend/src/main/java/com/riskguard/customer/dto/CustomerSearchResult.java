@@ -0,0 +1,20 @@
+package com.riskguard.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSearchResult {
+    private String query;
+    private List<CustomerSearchHit> hits;
+    // Set when the query matched more candidates than were ranked
+    private boolean truncated;
+    private long tookMicros;
+}
@@ -0,0 +1,24 @@
+package com.riskguard.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReport {
+    private String format;
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<ImportRowError> errors;
+    // Set when more rows failed than are listed in errors
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,14 @@
+package com.riskguard.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    // 1-based data row number, not counting the CSV header
+    private long row;
+    private String message;
+}
@@ -0,0 +1,25 @@
+package com.riskguard.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchScanSummary {
+    private LocalDateTime startedAt;
+    private long elapsedMillis;
+    private int customers;
+    private int blocks;
+    // Blocks over the size cap, e.g. a placeholder phone number shared by hundreds of rows
+    private int oversizedBlocks;
+    private long comparisons;
+    private int matches;
+    private int duplicates;
+    private int sharedIdentities;
+}
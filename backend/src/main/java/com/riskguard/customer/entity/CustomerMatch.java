@@ -0,0 +1,52 @@
+package com.riskguard.customer.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/** A pair of customers that look like the same person or share identifying details. */
+@Entity
+@Table(name = "customer_matches", indexes = {
+        @Index(name = "uk_customer_match_pair", columnList = "customerId, matchedCustomerId", unique = true),
+        @Index(name = "idx_customer_match_matched", columnList = "matchedCustomerId"),
+        @Index(name = "idx_customer_match_status_score", columnList = "status, score")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long matchId;
+
+    // Always the lower of the two customer IDs
+    private Long customerId;
+    private Long matchedCustomerId;
+
+    @Enumerated(EnumType.STRING)
+    private MatchType matchType;
+
+    private Integer score;
+    private String reasons;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private LocalDateTime detectedAt;
+    private LocalDateTime reviewedAt;
+
+    public enum MatchType {
+        // Similar name and the same date of birth
+        DUPLICATE,
+        // Different people sharing a phone, email or address
+        SHARED_IDENTITY
+    }
+
+    public enum Status {
+        OPEN, CONFIRMED, DISMISSED
+    }
+}
@@ -0,0 +1,21 @@
+package com.riskguard.customer.repository;
+
+import com.riskguard.customer.entity.CustomerMatch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomerMatchRepository extends JpaRepository<CustomerMatch, Long> {
+    List<CustomerMatch> findByStatusOrderByScoreDescMatchIdAsc(CustomerMatch.Status status, Pageable pageable);
+
+    @Query("SELECT m FROM CustomerMatch m WHERE m.customerId = :customerId OR m.matchedCustomerId = :customerId "
+            + "ORDER BY m.score DESC")
+    List<CustomerMatch> findByCustomer(@Param("customerId") Long customerId);
+
+    long countByStatus(CustomerMatch.Status status);
+}
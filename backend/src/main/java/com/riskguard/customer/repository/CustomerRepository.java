@@ -1,6 +1,7 @@
 package com.riskguard.customer.repository;
 
 import com.riskguard.customer.entity.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,8 @@ import java.util.List;
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByName(String name);
     List<Customer> findByInsuranceType(Customer.InsuranceType insuranceType);
+
+    // Keyset page: pass PageRequest.of(0, size) so no count query is issued
+    List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(Long customerId, Pageable pageable);
+    long countByCustomerIdGreaterThan(Long customerId);
 }
@@ -0,0 +1,158 @@
+package com.riskguard.customer.service;
+
+import com.riskguard.customer.dto.Customer360;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.premium.repository.PremiumPaymentRepository;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.riskassessment.repository.RiskAssessmentRepository;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.underwriting.repository.UnderwritingDecisionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the customer profile, assessments, decisions, policies and premium payments in one
+ * call. The five reads are independent (payments are selected by customer through the policies
+ * table, not per policy) so they run concurrently and the response costs roughly the slowest
+ * query instead of the sum of all of them.
+ *
+ * <p>Each read holds a pooled connection, so the fan-out pool is capped below the Hikari maximum
+ * and its queue is bounded: when it is full the request is rejected rather than queued behind
+ * work that would time out anyway. Reads run in a read-only transaction whose timeout becomes the
+ * JDBC query timeout, and on timeout the futures are cancelled with interruption, so abandoned
+ * reads release their thread and connection instead of running to completion.
+ */
+@Slf4j
+@Service
+public class Customer360Service {
+
+    private static final int READS_PER_REQUEST = 5;
+
+    @Value("${riskguard.customer360.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    @Autowired
+    private CustomerLookupService customerLookupService;
+
+    @Autowired
+    private RiskAssessmentRepository riskAssessmentRepository;
+
+    @Autowired
+    private UnderwritingDecisionRepository decisionRepository;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PremiumPaymentRepository paymentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ThreadPoolExecutor fanOut;
+
+    public Customer360Service(@Value("${riskguard.customer360.threads:5}") int threads,
+                              @Value("${riskguard.customer360.queue-size:100}") int queueSize,
+                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        // Leave at least half the connections to request threads and other jobs
+        int limit = Math.max(1, connectionPoolSize / 2);
+        if (threads > limit) {
+            log.warn("riskguard.customer360.threads={} exceeds half the connection pool ({}); using {}",
+                    threads, connectionPoolSize, limit);
+            threads = limit;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        this.fanOut = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(READS_PER_REQUEST, queueSize)), r -> {
+            Thread thread = new Thread(r, "customer-360-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns empty when the customer does not exist. Throws {@link TimeoutException} when the
+     * reads do not all finish within the configured budget; outstanding reads are cancelled.
+     * Throws {@link RejectedExecutionException} when the fan-out queue is full.
+     */
+    public Optional<Customer360> load(Long customerId) throws TimeoutException {
+        long started = System.nanoTime();
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+        read.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+
+        List<Future<?>> submitted = new ArrayList<>(READS_PER_REQUEST);
+        try {
+            Future<Optional<Customer>> customer =
+                    submit(submitted, read, () -> customerLookupService.findById(customerId));
+            Future<List<RiskAssessment>> assessments =
+                    submit(submitted, read, () -> riskAssessmentRepository.findByCustomerId(customerId));
+            Future<List<UnderwritingDecision>> decisions =
+                    submit(submitted, read, () -> decisionRepository.findByCustomerId(customerId));
+            Future<List<Policy>> policies =
+                    submit(submitted, read, () -> policyRepository.findByCustomerId(customerId));
+            Future<List<PremiumPayment>> payments =
+                    submit(submitted, read, () -> paymentRepository.findByPolicyCustomerId(customerId));
+
+            long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            for (Future<?> future : submitted) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            Optional<Customer> found = customer.get();
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(Customer360.builder()
+                    .customer(found.get())
+                    .assessments(assessments.get())
+                    .decisions(decisions.get())
+                    .policies(policies.get())
+                    .payments(payments.get())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading customer " + customerId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // No-op for finished reads; interrupts the rest after a timeout, rejection or failure
+            submitted.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private <T> Future<T> submit(List<Future<?>> submitted, TransactionTemplate read, Supplier<T> query) {
+        Future<T> future = fanOut.submit(() -> read.execute(status -> query.get()));
+        submitted.add(future);
+        return future;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+    }
+}
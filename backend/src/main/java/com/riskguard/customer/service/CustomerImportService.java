@@ -0,0 +1,308 @@
+package com.riskguard.customer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.customer.dto.ImportReport;
+import com.riskguard.customer.dto.ImportRowError;
+import com.riskguard.customer.entity.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams customers from CSV or NDJSON into the database. Rows are parsed and validated one at a
+ * time and written in JDBC batches, each batch in its own transaction. customer_id stays an
+ * auto-increment column: with rewriteBatchedStatements each batch becomes one multi-row INSERT
+ * and MySQL allocates the IDs for the whole batch server-side. If a batch fails, its rows are
+ * retried one by one so the report can name the rows that were rejected.
+ */
+@Slf4j
+@Service
+public class CustomerImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (name, date_of_birth, contact_info, email, phone, insurance_type, address, city, "
+                    + "state, zip_code, document_verified, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${riskguard.import.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    public ImportReport importCustomers(InputStream body, Format format) throws IOException {
+        long started = System.nanoTime();
+        Importer importer = new Importer(format);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            readCsv(reader, importer);
+        } else {
+            readNdjson(reader, importer);
+        }
+        importer.flush();
+        return importer.report(System.nanoTime() - started);
+    }
+
+    private void readCsv(BufferedReader reader, Importer importer) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            List<String> fields = record;
+            importer.accept(key -> {
+                Integer index = columns.get(key.toLowerCase(Locale.ROOT));
+                return index == null || index >= fields.size() ? null : fields.get(index);
+            });
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Importer importer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                importer.reject("Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                importer.reject("Expected a JSON object");
+                continue;
+            }
+            importer.accept(key -> {
+                JsonNode value = node.get(key);
+                return value == null || value.isNull() ? null : value.asText();
+            });
+        }
+    }
+
+    interface Row {
+        String get(String column);
+    }
+
+    /** Validates rows, buffers them into batches and keeps the running report. */
+    private class Importer {
+        private final Format format;
+        private final LocalDate today = LocalDate.now();
+        private final List<Customer> batch = new ArrayList<>();
+        private final List<Long> batchRows = new ArrayList<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        Importer(Format format) {
+            this.format = format;
+        }
+
+        void accept(Row row) {
+            rows++;
+            Customer customer;
+            try {
+                customer = parse(row);
+            } catch (IllegalArgumentException e) {
+                fail(rows, e.getMessage());
+                return;
+            }
+            batch.add(customer);
+            batchRows.add(rows);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            rows++;
+            fail(rows, message);
+        }
+
+        private Customer parse(Row row) {
+            String name = trimToNull(row.get("name"));
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            String typeValue = trimToNull(row.get("insuranceType"));
+            if (typeValue == null) {
+                throw new IllegalArgumentException("insuranceType is required");
+            }
+            Customer.InsuranceType type;
+            try {
+                type = Customer.InsuranceType.valueOf(typeValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("insuranceType must be one of HEALTH, LIFE, MOTOR");
+            }
+            LocalDate dob = null;
+            String dobValue = trimToNull(row.get("dateOfBirth"));
+            if (dobValue != null) {
+                try {
+                    dob = LocalDate.parse(dobValue);
+                } catch (DateTimeParseException e) {
+                    throw new IllegalArgumentException("dateOfBirth must be an ISO date (yyyy-MM-dd)");
+                }
+                if (dob.isAfter(today)) {
+                    throw new IllegalArgumentException("dateOfBirth is in the future");
+                }
+            }
+            String email = trimToNull(row.get("email"));
+            if (email != null && email.indexOf('@') < 1) {
+                throw new IllegalArgumentException("email is not a valid address");
+            }
+            String verified = trimToNull(row.get("documentVerified"));
+            if (verified != null && !verified.equalsIgnoreCase("true") && !verified.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("documentVerified must be true or false");
+            }
+            return Customer.builder()
+                    .name(name)
+                    .dateOfBirth(dob)
+                    .contactInfo(trimToNull(row.get("contactInfo")))
+                    .email(email)
+                    .phone(trimToNull(row.get("phone")))
+                    .insuranceType(type)
+                    .address(trimToNull(row.get("address")))
+                    .city(trimToNull(row.get("city")))
+                    .state(trimToNull(row.get("state")))
+                    .zipCode(trimToNull(row.get("zipCode")))
+                    .documentVerified(Boolean.parseBoolean(verified))
+                    .createdAt(today)
+                    .updatedAt(today)
+                    .build();
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            try {
+                tx.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_CUSTOMER, batch, batch.size(), CustomerImportService::bind));
+                succeeded(batch.size());
+            } catch (RuntimeException batchFailure) {
+                log.warn("Customer import batch of {} rows failed, retrying rows individually", batch.size(), batchFailure);
+                for (int i = 0; i < batch.size(); i++) {
+                    Customer customer = batch.get(i);
+                    try {
+                        tx.executeWithoutResult(status -> jdbcTemplate.update(INSERT_CUSTOMER, ps -> bind(ps, customer)));
+                        succeeded(1);
+                    } catch (RuntimeException rowFailure) {
+                        fail(batchRows.get(i), rootMessage(rowFailure));
+                    }
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        private void succeeded(int count) {
+            imported += count;
+            analyticsCounters.customersAdded(count);
+        }
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(row, message));
+            }
+        }
+
+        ImportReport report(long elapsedNanos) {
+            double seconds = elapsedNanos / 1e9;
+            return ImportReport.builder()
+                    .format(format.name())
+                    .totalRows(rows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .elapsedMillis((long) (seconds * 1000))
+                    .rowsPerSecond(seconds > 0 ? Math.round(rows / seconds) : rows)
+                    .build();
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Customer c) throws SQLException {
+        ps.setString(1, c.getName());
+        if (c.getDateOfBirth() != null) {
+            ps.setDate(2, Date.valueOf(c.getDateOfBirth()));
+        } else {
+            ps.setNull(2, Types.DATE);
+        }
+        ps.setString(3, c.getContactInfo());
+        ps.setString(4, c.getEmail());
+        ps.setString(5, c.getPhone());
+        ps.setString(6, c.getInsuranceType().name());
+        ps.setString(7, c.getAddress());
+        ps.setString(8, c.getCity());
+        ps.setString(9, c.getState());
+        ps.setString(10, c.getZipCode());
+        ps.setBoolean(11, Boolean.TRUE.equals(c.getDocumentVerified()));
+        ps.setDate(12, Date.valueOf(c.getCreatedAt()));
+        ps.setDate(13, Date.valueOf(c.getUpdatedAt()));
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
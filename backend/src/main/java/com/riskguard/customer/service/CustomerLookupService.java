@@ -0,0 +1,38 @@
+package com.riskguard.customer.service;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Cached customer reads for the lookup endpoint. Cached instances are detached and shared between
+ * requests, so callers must not modify them.
+ */
+@Service
+public class CustomerLookupService {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Cacheable(cacheNames = "customersById", unless = "#result == null")
+    public Optional<Customer> findById(Long id) {
+        return customerRepository.findById(id).map(customer -> {
+            entityManager.detach(customer);
+            return customer;
+        });
+    }
+
+    @CacheEvict(cacheNames = "customersById")
+    public void evict(Long id) {
+    }
+}
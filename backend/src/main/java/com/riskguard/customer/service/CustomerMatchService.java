@@ -0,0 +1,545 @@
+package com.riskguard.customer.service;
+
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.customer.dto.MatchScanSummary;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.entity.CustomerMatch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds likely duplicate or synthetic customer identities without comparing every pair. Each
+ * customer gets a handful of blocking keys: its normalised phone, email and address, plus MinHash
+ * LSH bands of its name trigrams combined with its date of birth. Only customers sharing a key are
+ * ever compared, so a full scan costs roughly the number of customers times the typical block
+ * size. Blocks above the size cap (a placeholder phone, a shared office address) are skipped and
+ * counted rather than expanded into pairs.
+ *
+ * <p>The key index lives in memory and is kept current by {@link #check(Customer)} and
+ * {@link #remove(Long)}, so a new customer is matched by looking up its own keys only. Matches
+ * are upserted into {@code customer_matches}; a re-detected pair keeps its review status, and an
+ * OPEN pair a changed customer no longer matches is dropped.
+ */
+@Slf4j
+@Service
+public class CustomerMatchService {
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Map<String, String> ADDRESS_ABBREVIATIONS = Map.of(
+            "street", "st", "avenue", "ave", "road", "rd", "drive", "dr", "lane", "ln",
+            "boulevard", "blvd", "apartment", "apt", "suite", "ste", "north", "n", "south", "s");
+    private static final Set<String> DOTLESS_EMAIL_DOMAINS = Set.of("gmail.com", "googlemail.com");
+
+    // MinHash: BANDS x ROWS hash functions; names with trigram Jaccard 0.5 share a band ~90% of the time
+    private static final int BANDS = 8;
+    private static final int ROWS = 2;
+    private static final long[] SEEDS = new long[BANDS * ROWS];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SEEDS.length; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private static final String UPSERT_MATCH =
+            "INSERT INTO customer_matches (customer_id, matched_customer_id, match_type, score, reasons, status, detected_at) "
+                    + "VALUES (?, ?, ?, ?, ?, 'OPEN', ?) "
+                    + "ON DUPLICATE KEY UPDATE match_type = VALUES(match_type), score = VALUES(score), "
+                    + "reasons = VALUES(reasons), detected_at = VALUES(detected_at)";
+
+    @Value("${riskguard.matching.min-score:25}")
+    private int minScore;
+
+    @Value("${riskguard.matching.max-block-size:50}")
+    private int maxBlockSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditService auditService;
+
+    private record Profile(long id, LocalDate dateOfBirth, String phone, String email, String address,
+                           Set<String> trigrams, Set<String> keys) {
+    }
+
+    private record Match(long first, long second, CustomerMatch.MatchType type, int score, String reasons) {
+    }
+
+    private final ConcurrentHashMap<Long, Profile> profiles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, long[]> blocks = new ConcurrentHashMap<>();
+    private final AtomicBoolean scanning = new AtomicBoolean();
+    private volatile long highestId;
+    private volatile MatchScanSummary lastScan;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        load(0, false);
+        log.info("Customer match index built with {} customers and {} blocks in {} ms",
+                profiles.size(), blocks.size(), System.currentTimeMillis() - started);
+    }
+
+    /** Highest customer ID indexed so far; take it before an out-of-band insert starts. */
+    public long watermark() {
+        return highestId;
+    }
+
+    /**
+     * Indexes customers above {@code afterId} that were added behind the controller's back, e.g. by
+     * bulk import, and matches each of them against the book. Pass the {@link #watermark()} taken
+     * before the inserts began, since {@link #check(Customer)} advances it. Customers already
+     * indexed are re-indexed and their matches upserted again. Returns the number of matches found.
+     */
+    public int catchUp(long afterId) {
+        return load(afterId, true);
+    }
+
+    private int load(long afterId, boolean match) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        List<Match> found = new ArrayList<>();
+        streaming.query("SELECT customer_id, name, date_of_birth, phone, email, address, zip_code FROM customers "
+                        + "WHERE customer_id > ? ORDER BY customer_id",
+                rs -> {
+                    Date dob = rs.getDate(3);
+                    Profile profile = toProfile(rs.getLong(1), rs.getString(2), dob == null ? null : dob.toLocalDate(),
+                            rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7));
+                    index(profile);
+                    if (match) {
+                        found.addAll(matchesFor(profile));
+                    }
+                },
+                afterId);
+        save(found);
+        return found.size();
+    }
+
+    /**
+     * Indexes a new or updated customer and records any matches against the rest of the book. Its
+     * OPEN matches that weren't found again are deleted; CONFIRMED and DISMISSED ones are kept.
+     */
+    public List<CustomerMatch> check(Customer customer) {
+        Profile profile = toProfile(customer.getCustomerId(), customer.getName(), customer.getDateOfBirth(),
+                customer.getPhone(), customer.getEmail(), customer.getAddress(), customer.getZipCode());
+        index(profile);
+        List<Match> found = matchesFor(profile);
+        save(found);
+        dropStale(profile.id(), found);
+        if (!found.isEmpty()) {
+            auditService.log("DUPLICATE_SUSPECTED", "Customer", profile.id(), "system",
+                    found.stream().map(m -> (m.first() == profile.id() ? m.second() : m.first()) + ":" + m.score())
+                            .collect(Collectors.joining(",", "matches=", "")));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return found.stream().map(m -> toEntity(m, now)).toList();
+    }
+
+    /** Drops a deleted customer from the index along with every match it was part of. */
+    public void remove(Long customerId) {
+        synchronized (this) {
+            Profile old = profiles.remove(customerId);
+            if (old != null) {
+                old.keys().forEach(key -> removeFromBlock(key, customerId));
+            }
+        }
+        jdbcTemplate.update("DELETE FROM customer_matches WHERE customer_id = ? OR matched_customer_id = ?",
+                customerId, customerId);
+    }
+
+    public Optional<MatchScanSummary> lastScan() {
+        return Optional.ofNullable(lastScan);
+    }
+
+    /**
+     * Re-indexes the whole book, then compares every pair of customers that share a block. A pair
+     * sharing several keys is scored only in the block of its smallest shared key that isn't
+     * oversized, so no pair set is kept in memory. Empty if a scan is already running.
+     */
+    public Optional<MatchScanSummary> scan() {
+        if (!scanning.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            load(0, false);
+            int oversized = 0;
+            long comparisons = 0;
+            int duplicates = 0;
+            List<Match> pending = new ArrayList<>();
+            int total = 0;
+            for (Map.Entry<String, long[]> block : blocks.entrySet()) {
+                long[] ids = block.getValue();
+                if (ids.length > maxBlockSize) {
+                    oversized++;
+                    continue;
+                }
+                for (int i = 0; i < ids.length; i++) {
+                    Profile a = profiles.get(ids[i]);
+                    for (int j = i + 1; j < ids.length && a != null; j++) {
+                        Profile b = profiles.get(ids[j]);
+                        if (b == null || !block.getKey().equals(firstSharedKey(a, b))) {
+                            continue;
+                        }
+                        comparisons++;
+                        Match match = compare(a, b);
+                        if (match != null) {
+                            pending.add(match);
+                            total++;
+                            if (match.type() == CustomerMatch.MatchType.DUPLICATE) {
+                                duplicates++;
+                            }
+                            if (pending.size() == 1000) {
+                                save(pending);
+                                pending.clear();
+                            }
+                        }
+                    }
+                }
+            }
+            save(pending);
+            MatchScanSummary summary = MatchScanSummary.builder()
+                    .startedAt(startedAt)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .customers(profiles.size())
+                    .blocks(blocks.size())
+                    .oversizedBlocks(oversized)
+                    .comparisons(comparisons)
+                    .matches(total)
+                    .duplicates(duplicates)
+                    .sharedIdentities(total - duplicates)
+                    .build();
+            lastScan = summary;
+            log.info("Customer match scan compared {} pairs across {} customers and found {} matches in {} ms",
+                    comparisons, summary.getCustomers(), total, summary.getElapsedMillis());
+            auditService.log("CUSTOMER_MATCH_SCAN", "Customer", null, "system",
+                    "customers=" + summary.getCustomers() + ";comparisons=" + comparisons + ";matches=" + total
+                            + ";oversizedBlocks=" + oversized);
+            return Optional.of(summary);
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    private List<Match> matchesFor(Profile profile) {
+        Set<Long> seen = new HashSet<>();
+        List<Match> found = new ArrayList<>();
+        for (String key : profile.keys()) {
+            long[] ids = blocks.getOrDefault(key, new long[0]);
+            if (ids.length > maxBlockSize) {
+                continue;
+            }
+            for (long id : ids) {
+                if (id == profile.id() || !seen.add(id)) {
+                    continue;
+                }
+                Profile other = profiles.get(id);
+                Match match = other == null ? null : compare(profile, other);
+                if (match != null) {
+                    found.add(match);
+                }
+            }
+        }
+        return found;
+    }
+
+    private Match compare(Profile a, Profile b) {
+        List<String> reasons = new ArrayList<>();
+        int score = 0;
+        boolean duplicate = false;
+        if (a.dateOfBirth() != null && a.dateOfBirth().equals(b.dateOfBirth())) {
+            double similarity = jaccard(a.trigrams(), b.trigrams());
+            if (similarity >= 0.5) {
+                score += 30 + (int) Math.round(40 * similarity);
+                reasons.add(similarity == 1.0 ? "SAME_NAME_AND_DOB" : "SIMILAR_NAME_AND_DOB");
+                duplicate = true;
+            }
+        }
+        if (a.phone() != null && a.phone().equals(b.phone())) {
+            score += 25;
+            reasons.add("SHARED_PHONE");
+        }
+        if (a.email() != null && a.email().equals(b.email())) {
+            score += 30;
+            reasons.add("SHARED_EMAIL");
+        }
+        if (a.address() != null && a.address().equals(b.address())) {
+            score += 20;
+            reasons.add("SHARED_ADDRESS");
+        }
+        if (score < minScore) {
+            return null;
+        }
+        CustomerMatch.MatchType type = duplicate ? CustomerMatch.MatchType.DUPLICATE : CustomerMatch.MatchType.SHARED_IDENTITY;
+        return new Match(Math.min(a.id(), b.id()), Math.max(a.id(), b.id()), type, Math.min(100, score),
+                String.join(",", reasons));
+    }
+
+    // Smallest key the pair shares among the blocks the scan compares; oversized blocks are skipped
+    private String firstSharedKey(Profile a, Profile b) {
+        String first = null;
+        for (String key : a.keys()) {
+            if (b.keys().contains(key) && (first == null || key.compareTo(first) < 0)
+                    && blocks.getOrDefault(key, new long[0]).length <= maxBlockSize) {
+                first = key;
+            }
+        }
+        return first;
+    }
+
+    private void save(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_MATCH, matches, 1000, (ps, m) -> {
+            ps.setLong(1, m.first());
+            ps.setLong(2, m.second());
+            ps.setString(3, m.type().name());
+            ps.setInt(4, m.score());
+            ps.setString(5, m.reasons());
+            ps.setTimestamp(6, now);
+        });
+    }
+
+    private void dropStale(long customerId, List<Match> found) {
+        Set<Long> current = found.stream()
+                .map(m -> m.first() == customerId ? m.second() : m.first())
+                .collect(Collectors.toSet());
+        List<Long> stale = new ArrayList<>();
+        jdbcTemplate.query("SELECT match_id, customer_id, matched_customer_id FROM customer_matches "
+                        + "WHERE status = 'OPEN' AND (customer_id = ? OR matched_customer_id = ?)",
+                rs -> {
+                    long other = rs.getLong(2) == customerId ? rs.getLong(3) : rs.getLong(2);
+                    if (!current.contains(other)) {
+                        stale.add(rs.getLong(1));
+                    }
+                },
+                customerId, customerId);
+        if (!stale.isEmpty()) {
+            // Status re-checked so a pair reviewed meanwhile keeps its verdict
+            jdbcTemplate.batchUpdate("DELETE FROM customer_matches WHERE match_id = ? AND status = 'OPEN'", stale, 1000,
+                    (ps, id) -> ps.setLong(1, id));
+        }
+    }
+
+    private static CustomerMatch toEntity(Match match, LocalDateTime detectedAt) {
+        return CustomerMatch.builder()
+                .customerId(match.first())
+                .matchedCustomerId(match.second())
+                .matchType(match.type())
+                .score(match.score())
+                .reasons(match.reasons())
+                .status(CustomerMatch.Status.OPEN)
+                .detectedAt(detectedAt)
+                .build();
+    }
+
+    // Single writer; posting arrays are replaced, never mutated, so readers need no lock
+    private synchronized void index(Profile profile) {
+        Profile old = profiles.put(profile.id(), profile);
+        if (old != null) {
+            old.keys().stream().filter(key -> !profile.keys().contains(key))
+                    .forEach(key -> removeFromBlock(key, profile.id()));
+        }
+        for (String key : profile.keys()) {
+            if (old == null || !old.keys().contains(key)) {
+                long[] current = blocks.getOrDefault(key, new long[0]);
+                long[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = profile.id();
+                Arrays.sort(grown);
+                blocks.put(key, grown);
+            }
+        }
+        if (profile.id() > highestId) {
+            highestId = profile.id();
+        }
+    }
+
+    private void removeFromBlock(String key, long id) {
+        long[] current = blocks.get(key);
+        int at = current == null ? -1 : Arrays.binarySearch(current, id);
+        if (at < 0) {
+            return;
+        }
+        if (current.length == 1) {
+            blocks.remove(key);
+            return;
+        }
+        long[] shrunk = new long[current.length - 1];
+        System.arraycopy(current, 0, shrunk, 0, at);
+        System.arraycopy(current, at + 1, shrunk, at, current.length - at - 1);
+        blocks.put(key, shrunk);
+    }
+
+    private static Profile toProfile(long id, String name, LocalDate dateOfBirth, String phone, String email,
+                                     String address, String zipCode) {
+        Set<String> trigrams = trigrams(normaliseName(name));
+        String phoneKey = normalisePhone(phone);
+        String emailKey = normaliseEmail(email);
+        String addressKey = normaliseAddress(address, zipCode);
+
+        Set<String> keys = new LinkedHashSet<>();
+        if (phoneKey != null) {
+            keys.add("P|" + phoneKey);
+        }
+        if (emailKey != null) {
+            keys.add("E|" + emailKey);
+        }
+        if (addressKey != null) {
+            keys.add("A|" + addressKey);
+        }
+        if (dateOfBirth != null && !trigrams.isEmpty()) {
+            long[] signature = minHash(trigrams);
+            for (int band = 0; band < BANDS; band++) {
+                long bandHash = 17;
+                for (int row = 0; row < ROWS; row++) {
+                    bandHash = bandHash * 31 + signature[band * ROWS + row];
+                }
+                keys.add("N|" + dateOfBirth + "|" + band + "|" + Long.toHexString(bandHash));
+            }
+        }
+        return new Profile(id, dateOfBirth, phoneKey, emailKey, addressKey, trigrams, Set.copyOf(keys));
+    }
+
+    // Token order is ignored so "Smith, John" and "John Smith" hash alike
+    private static String normaliseName(String name) {
+        if (name == null || name.isBlank()) {
+            return "";
+        }
+        String plain = NON_ALNUM.matcher(stripAccents(name).toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return String.join(" ", new TreeSet<>(Arrays.asList(plain.split(" +"))));
+    }
+
+    private static String normalisePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < 7) {
+            return null;
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits;
+    }
+
+    private static String normaliseEmail(String email) {
+        if (email == null || email.isBlank() || !email.contains("@")) {
+            return null;
+        }
+        String lower = email.trim().toLowerCase(Locale.ROOT);
+        int at = lower.lastIndexOf('@');
+        String local = lower.substring(0, at);
+        String domain = lower.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus >= 0) {
+            local = local.substring(0, plus);
+        }
+        if (DOTLESS_EMAIL_DOMAINS.contains(domain)) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    private static String normaliseAddress(String address, String zipCode) {
+        if (address == null || address.isBlank()) {
+            return null;
+        }
+        String plain = NON_ALNUM.matcher(stripAccents(address).toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        String words = Arrays.stream(plain.split(" +"))
+                .map(word -> ADDRESS_ABBREVIATIONS.getOrDefault(word, word))
+                .collect(Collectors.joining(" "));
+        String zip = zipCode == null ? "" : zipCode.replaceAll("\\s", "").toLowerCase(Locale.ROOT);
+        return words + "|" + zip;
+    }
+
+    private static Set<String> trigrams(String nameKey) {
+        if (nameKey.isEmpty()) {
+            return Set.of();
+        }
+        String padded = " " + nameKey + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static long[] minHash(Set<String> trigrams) {
+        long[] signature = new long[SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String gram : trigrams) {
+            long base = hash(gram);
+            for (int i = 0; i < SEEDS.length; i++) {
+                long h = mix(base ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String gram : a) {
+            if (b.contains(gram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ b) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String stripAccents(String value) {
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
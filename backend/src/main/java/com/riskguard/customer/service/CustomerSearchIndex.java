@@ -0,0 +1,337 @@
+package com.riskguard.customer.service;
+
+import com.riskguard.customer.dto.CustomerSearchHit;
+import com.riskguard.customer.dto.CustomerSearchResult;
+import com.riskguard.customer.entity.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over customer name, email, phone and city. Every field is broken into
+ * normalised terms (name and city words, the email and its local-part pieces, and every phone
+ * suffix of four or more digits) kept in a sorted term dictionary, so a prefix lookup is a range
+ * scan over the dictionary. Each term is tagged with its field, so a lookup can visit the fields
+ * in the order they score. Posting lists are sorted {@code long[]} arrays replaced copy-on-write by a single
+ * writer; readers take no locks and re-check every candidate against its stored document, so a
+ * reader racing a write never returns a stale match.
+ */
+@Slf4j
+@Service
+public class CustomerSearchIndex {
+
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern EMAIL_SPLIT = Pattern.compile("[._+\\-]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final long[] EMPTY = new long[0];
+    // Field tags prefixed to every term, listed in the order candidates are gathered
+    private static final char NAME = 'n';
+    private static final char EMAIL = 'e';
+    private static final char PHONE = 'p';
+    private static final char CITY = 'c';
+    private static final char[] FIELDS_BY_SCORE = {NAME, EMAIL, PHONE, CITY};
+
+    @Value("${riskguard.search.max-candidates:5000}")
+    private int maxCandidates;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentSkipListMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Doc> docs = new ConcurrentHashMap<>();
+    private volatile long highestId;
+    private volatile boolean ready;
+
+    private record Doc(long id, String name, String email, String phone, String city,
+                       String[] nameWords, String emailNorm, String[] emailPieces, String phoneDigits, String[] cityWords,
+                       Set<String> terms) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long started = System.currentTimeMillis();
+        catchUp(0);
+        ready = true;
+        log.info("Customer search index built with {} customers and {} terms in {} ms",
+                docs.size(), terms.size(), System.currentTimeMillis() - started);
+    }
+
+    /** Highest customer ID indexed so far; take it before an out-of-band insert starts. */
+    public long watermark() {
+        return highestId;
+    }
+
+    /**
+     * Indexes customers above {@code afterId} that were added behind the controller's back, e.g. by
+     * bulk import. Pass the {@link #watermark()} taken before the inserts began: a customer created
+     * through the controller meanwhile advances the watermark past rows still being imported.
+     */
+    public void catchUp(long afterId) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        List<Doc> batch = new ArrayList<>();
+        streaming.query("SELECT customer_id, name, email, phone, city FROM customers WHERE customer_id > ? ORDER BY customer_id",
+                rs -> {
+                    batch.add(toDoc(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+                    if (batch.size() == 10_000) {
+                        putAll(batch);
+                        batch.clear();
+                    }
+                },
+                afterId);
+        putAll(batch);
+    }
+
+    public void put(Customer customer) {
+        putAll(List.of(toDoc(customer.getCustomerId(), customer.getName(), customer.getEmail(),
+                customer.getPhone(), customer.getCity())));
+    }
+
+    public synchronized void remove(Long customerId) {
+        Doc old = docs.remove(customerId);
+        if (old != null) {
+            old.terms().forEach(term -> removePosting(term, customerId));
+        }
+    }
+
+    /** Adds or replaces documents, rewriting each affected posting list once per call. */
+    private synchronized void putAll(List<Doc> batch) {
+        Map<String, List<Long>> additions = new HashMap<>();
+        for (Doc doc : batch) {
+            Doc old = docs.put(doc.id(), doc);
+            if (old != null) {
+                for (String term : old.terms()) {
+                    if (!doc.terms().contains(term)) {
+                        removePosting(term, doc.id());
+                    }
+                }
+            }
+            for (String term : doc.terms()) {
+                if (old == null || !old.terms().contains(term)) {
+                    additions.computeIfAbsent(term, t -> new ArrayList<>()).add(doc.id());
+                }
+            }
+            if (doc.id() > highestId) {
+                highestId = doc.id();
+            }
+        }
+        additions.forEach((term, ids) -> {
+            long[] current = terms.getOrDefault(term, EMPTY);
+            long[] merged = Arrays.copyOf(current, current.length + ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                merged[current.length + i] = ids.get(i);
+            }
+            Arrays.sort(merged);
+            terms.put(term, merged);
+        });
+    }
+
+    private void removePosting(String term, long id) {
+        long[] current = terms.get(term);
+        if (current == null) {
+            return;
+        }
+        int at = Arrays.binarySearch(current, id);
+        if (at < 0) {
+            return;
+        }
+        if (current.length == 1) {
+            terms.remove(term);
+            return;
+        }
+        long[] shrunk = new long[current.length - 1];
+        System.arraycopy(current, 0, shrunk, 0, at);
+        System.arraycopy(current, at + 1, shrunk, at, current.length - at - 1);
+        terms.put(term, shrunk);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return docs.size();
+    }
+
+    /**
+     * Returns up to {@code limit} customers matching every query word as a prefix of some field
+     * term, best first. Candidates come from the longest query word, gathered best field first: exact
+     * name words, then name prefixes, email, phone and city. When that word matches more than the
+     * configured maximum, only the first candidates are ranked and the result is marked truncated,
+     * so a short prefix cuts weak city or email matches before an exact name.
+     */
+    public CustomerSearchResult search(String query, int limit) {
+        long started = System.nanoTime();
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            return new CustomerSearchResult(query, List.of(), false, 0);
+        }
+        String driver = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+        Set<Long> candidates = new LinkedHashSet<>();
+        boolean truncated = false;
+        List<long[]> lists = new ArrayList<>();
+        lists.add(terms.getOrDefault(NAME + driver, EMPTY));
+        for (char field : FIELDS_BY_SCORE) {
+            NavigableMap<String, long[]> range = terms.subMap(field + driver, true, field + driver + Character.MAX_VALUE, false);
+            lists.addAll(range.values());
+        }
+        outer:
+        for (long[] postings : lists) {
+            for (long id : postings) {
+                if (candidates.size() >= maxCandidates && !candidates.contains(id)) {
+                    truncated = true;
+                    break outer;
+                }
+                candidates.add(id);
+            }
+        }
+
+        List<CustomerSearchHit> hits = new ArrayList<>();
+        for (Long id : candidates) {
+            Doc doc = docs.get(id);
+            if (doc == null) {
+                continue;
+            }
+            int score = score(doc, tokens);
+            if (score > 0) {
+                hits.add(new CustomerSearchHit(doc.id(), doc.name(), doc.email(), doc.phone(), doc.city(), score));
+            }
+        }
+        hits.sort(Comparator.comparingInt(CustomerSearchHit::getScore).reversed()
+                .thenComparing(CustomerSearchHit::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(CustomerSearchHit::getCustomerId));
+        List<CustomerSearchHit> top = hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        return new CustomerSearchResult(query, top, truncated, (System.nanoTime() - started) / 1000);
+    }
+
+    // Every token must match some field; name matches outrank email and phone, which outrank city
+    private static int score(Doc doc, List<String> tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = 0;
+            for (int i = 0; i < doc.nameWords().length; i++) {
+                String word = doc.nameWords()[i];
+                if (word.equals(token)) {
+                    best = Math.max(best, i == 0 ? 12 : 10);
+                } else if (word.startsWith(token)) {
+                    best = Math.max(best, i == 0 ? 9 : 8);
+                }
+            }
+            if (doc.emailNorm() != null && doc.emailNorm().startsWith(token)) {
+                best = Math.max(best, 7);
+            } else {
+                for (String piece : doc.emailPieces()) {
+                    if (piece.startsWith(token)) {
+                        best = Math.max(best, 5);
+                    }
+                }
+            }
+            if (doc.phoneDigits() != null && !doc.phoneDigits().isEmpty() && isDigits(token)) {
+                if (doc.phoneDigits().startsWith(token)) {
+                    best = Math.max(best, 7);
+                } else if (doc.phoneDigits().contains(token)) {
+                    best = Math.max(best, 6);
+                }
+            }
+            for (String word : doc.cityWords()) {
+                if (word.startsWith(token)) {
+                    best = Math.max(best, 3);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static Doc toDoc(long id, String name, String email, String phone, String city) {
+        String[] nameWords = words(name);
+        String[] cityWords = words(city);
+        String emailNorm = email != null ? normalise(email.trim()) : null;
+        String phoneDigits = phone != null ? phone.replaceAll("\\D", "") : null;
+
+        String[] emailPieces = new String[0];
+        Set<String> docTerms = new LinkedHashSet<>();
+        for (String word : nameWords) {
+            docTerms.add(NAME + word);
+        }
+        for (String word : cityWords) {
+            docTerms.add(CITY + word);
+        }
+        if (emailNorm != null && !emailNorm.isEmpty()) {
+            docTerms.add(EMAIL + emailNorm);
+            String local = emailNorm.contains("@") ? emailNorm.substring(0, emailNorm.indexOf('@')) : emailNorm;
+            emailPieces = Arrays.stream(EMAIL_SPLIT.split(local)).filter(piece -> !piece.isEmpty()).toArray(String[]::new);
+            for (String piece : emailPieces) {
+                docTerms.add(EMAIL + piece);
+            }
+        }
+        if (phoneDigits != null && !phoneDigits.isEmpty()) {
+            // Every suffix of four or more digits, so numbers match without country or area code
+            for (int start = 0; start <= phoneDigits.length() - 4 || start == 0; start++) {
+                docTerms.add(PHONE + phoneDigits.substring(start));
+            }
+        }
+        return new Doc(id, name, email, phone, city, nameWords, emailNorm, emailPieces, phoneDigits, cityWords, Set.copyOf(docTerms));
+    }
+
+    private static List<String> queryTokens(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        String trimmed = query.trim();
+        // A whole email or a formatted phone number is one token
+        if (trimmed.contains("@")) {
+            return List.of(normalise(trimmed));
+        }
+        String digits = trimmed.replaceAll("[\\s()+.\\-]", "");
+        if (!digits.isEmpty() && isDigits(digits)) {
+            return List.of(digits);
+        }
+        return List.of(words(trimmed));
+    }
+
+    private static String[] words(String value) {
+        if (value == null || value.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(WORD_SPLIT.split(normalise(value)))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static String normalise(String value) {
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
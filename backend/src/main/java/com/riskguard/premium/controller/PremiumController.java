@@ -1,25 +1,145 @@
 package com.riskguard.premium.controller;
 
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.premium.dto.BatchQuoteRequest;
+import com.riskguard.premium.dto.BatchQuoteResponse;
+import com.riskguard.premium.dto.RatingTableConfig;
+import com.riskguard.premium.dto.RatingTableStatus;
+import com.riskguard.premium.dto.RepricingSimulation;
 import com.riskguard.premium.service.PremiumService;
+import com.riskguard.premium.service.RatingTableLoader;
+import com.riskguard.premium.service.RepricingSimulationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
 @RestController
 @RequestMapping("/api/premium")
 public class PremiumController {
 
+    // Upper bound on quotes per batch request
+    private static final int MAX_BATCH = 1_000_000;
+
     @Autowired
     private PremiumService premiumService;
 
+    @Autowired
+    private RatingTableLoader ratingTableLoader;
+
+    @Autowired
+    private RepricingSimulationService simulationService;
+
     @GetMapping("/calculate")
     public ResponseEntity<Double> calculatePremium(
             @RequestParam("coverageAmount") double coverageAmount,
-            @RequestParam("riskScore") double riskScore) {
-        double premium = premiumService.computePremium(coverageAmount, riskScore);
+            @RequestParam("riskScore") double riskScore,
+            @RequestParam(value = "insuranceType", required = false) Customer.InsuranceType insuranceType,
+            @RequestParam(value = "age", required = false) Integer age) {
+        double premium = premiumService.computePremium(insuranceType, coverageAmount, riskScore,
+                age != null ? age : Double.NaN);
         return ResponseEntity.ok(premium);
     }
+
+    @GetMapping("/rating-tables")
+    public ResponseEntity<RatingTableStatus> getRatingTables() {
+        return ResponseEntity.ok(ratingTableLoader.status());
+    }
+
+    /** Reloads the rating tables file now instead of waiting for the next poll. */
+    @PostMapping("/rating-tables/reload")
+    public ResponseEntity<RatingTableStatus> reloadRatingTables() {
+        try {
+            return ResponseEntity.ok(ratingTableLoader.reload());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ratingTableLoader.status());
+        }
+    }
+
+    /**
+     * Reprices every active policy under the candidate tables (same format as the rating tables
+     * file) without saving anything. {@code refresh} retakes the book snapshot first.
+     */
+    @PostMapping("/simulations")
+    public ResponseEntity<RepricingSimulation> simulateRepricing(@RequestBody RatingTableConfig candidate,
+                                                                 @RequestParam(defaultValue = "false") boolean refresh) {
+        try {
+            return simulationService.simulate(candidate, refresh)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping(value = "/calculate-batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchQuoteResponse> calculatePremiums(@RequestBody BatchQuoteRequest request) {
+        double[] coverage = request.getCoverageAmounts();
+        double[] scores = request.getRiskScores();
+        if (coverage == null || scores == null || coverage.length != scores.length || coverage.length > MAX_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        double[] premiums = new double[coverage.length];
+        premiumService.computePremiums(request.getInsuranceType(), coverage, scores, premiums);
+        return ResponseEntity.ok(new BatchQuoteResponse(premiums.length, premiums));
+    }
+
+    /**
+     * Binary variant of {@code /calculate-batch}. The request is a big-endian int count, then the
+     * insurance type name as a {@link DataInputStream#readUTF() modified UTF-8} string (empty for the
+     * default table), then count coverage amounts and count risk scores, all as IEEE 754 doubles;
+     * the response is the count followed by count premiums in the same encoding.
+     */
+    @PostMapping(value = "/calculate-batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> calculatePremiumsBinary(InputStream body) throws IOException {
+        DataInputStream in = new DataInputStream(body);
+        int count;
+        Customer.InsuranceType insuranceType;
+        double[] coverage;
+        double[] scores;
+        try {
+            count = in.readInt();
+            if (count < 0 || count > MAX_BATCH) {
+                return ResponseEntity.badRequest().build();
+            }
+            String type = in.readUTF();
+            insuranceType = type.isEmpty() ? null : Customer.InsuranceType.valueOf(type);
+            coverage = readDoubles(in, count);
+            scores = readDoubles(in, count);
+        } catch (EOFException | UTFDataFormatException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        double[] premiums = new double[count];
+        premiumService.computePremiums(insuranceType, coverage, scores, premiums);
+
+        ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + count * Double.BYTES);
+        out.putInt(count);
+        out.asDoubleBuffer().put(premiums);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(out.array());
+    }
+
+    private static double[] readDoubles(DataInputStream in, int count) throws IOException {
+        byte[] raw = new byte[count * Double.BYTES];
+        in.readFully(raw);
+        double[] values = new double[count];
+        ByteBuffer.wrap(raw).asDoubleBuffer().get(values);
+        return values;
+    }
 }
@@ -1,32 +1,176 @@
 package com.riskguard.premium.controller;
 
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.FraudSignalService;
+import com.riskguard.premium.dto.DunningRunSummary;
+import com.riskguard.premium.dto.PaymentEvent;
+import com.riskguard.premium.dto.ScheduleRequest;
+import com.riskguard.premium.dto.ScheduleResult;
+import com.riskguard.premium.dto.WebhookResult;
 import com.riskguard.premium.entity.PremiumPayment;
 import com.riskguard.premium.repository.PremiumPaymentRepository;
+import com.riskguard.premium.service.DunningService;
+import com.riskguard.premium.service.InstallmentScheduleService;
+import com.riskguard.premium.service.PaymentWebhookService;
+import com.riskguard.premium.service.TransactionIdFilter;
+import com.riskguard.premium.service.TransactionIdIndexMigration;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.underwriting.service.PolicyLookupService;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
+import com.riskguard.common.events.ChangeEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/premium-payments")
 public class PremiumPaymentController {
 
+    private static final Set<String> SORT_KEYS = Set.of("dueDate", "paymentDate");
+
     @Autowired
     private PremiumPaymentRepository paymentRepository;
 
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private FraudSignalService fraudSignalService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private DunningService dunningService;
+
+    @Autowired
+    private InstallmentScheduleService installmentScheduleService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PaymentWebhookService paymentWebhookService;
+
+    @Autowired
+    private TransactionIdFilter transactionIdFilter;
+
+    @Autowired
+    private TransactionIdIndexMigration transactionIdIndexMigration;
+
+    @Autowired
+    private PolicyLookupService policyLookupService;
+
     @PostMapping
     public ResponseEntity<PremiumPayment> createPayment(@RequestBody PremiumPayment payment) {
-        PremiumPayment saved = paymentRepository.save(payment);
+        PremiumPayment saved;
+        try {
+            saved = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // transactionId is unique
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        analyticsCounters.paymentAdded(saved);
+        fraudSignalService.paymentAdded(saved);
+        changeEventBus.publish(ChangeEventBus.EntityType.PAYMENT, ChangeEventBus.Action.CREATED,
+                saved.getPaymentId(), customerIdOf(saved), saved);
+        transactionIdFilter.record(saved.getTransactionId());
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/webhook")
+    public ResponseEntity<WebhookResult> receivePaymentEvents(@RequestBody List<PaymentEvent> events) {
+        if (!transactionIdIndexMigration.isReady()) {
+            // Without the unique transaction_id index webhook inserts would create duplicates; the gateway retries
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        try {
+            return ResponseEntity.ok(paymentWebhookService.apply(events));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/webhook/filter")
+    public ResponseEntity<Map<String, Object>> getTransactionFilterStats() {
+        return ResponseEntity.ok(transactionIdFilter.stats());
+    }
+
     @GetMapping
     public ResponseEntity<List<PremiumPayment>> getAllPayments() {
         return ResponseEntity.ok(paymentRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<PremiumPayment>> getPaymentsPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(PremiumPayment.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPayments() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(PremiumPayment.class, out));
+    }
+
+    @PostMapping("/schedule/{policyId}")
+    public ResponseEntity<ScheduleResult> generateSchedule(@PathVariable Long policyId,
+                                                           @RequestParam(required = false) InstallmentScheduleService.Frequency frequency) {
+        return policyRepository.findById(policyId)
+                .map(policy -> ResponseEntity.ok(installmentScheduleService.generate(policy,
+                        frequency != null ? frequency : installmentScheduleService.defaultFrequency())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/schedule")
+    public ResponseEntity<ScheduleResult> generateSchedules(@RequestBody ScheduleRequest request) {
+        try {
+            return ResponseEntity.ok(installmentScheduleService.generate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/dunning")
+    public ResponseEntity<DunningRunSummary> getLastDunningRun() {
+        return dunningService.lastRun()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/dunning/stages")
+    public ResponseEntity<List<DunningService.Stage>> getDunningStages() {
+        return ResponseEntity.ok(dunningService.stages());
+    }
+
+    @PostMapping("/dunning/run")
+    public ResponseEntity<DunningRunSummary> runDunning(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return dunningService.run(asOf != null ? asOf : LocalDate.now())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PremiumPayment> getPaymentById(@PathVariable Long id) {
         Optional<PremiumPayment> payment = paymentRepository.findById(id);
@@ -51,10 +195,29 @@ public class PremiumPaymentController {
     public ResponseEntity<PremiumPayment> updatePayment(@PathVariable Long id, @RequestBody PremiumPayment payment) {
         Optional<PremiumPayment> existing = paymentRepository.findById(id);
         if (existing.isPresent()) {
+            if (payment.getTransactionId() != null && paymentRepository.findByTransactionId(payment.getTransactionId())
+                    .filter(other -> !other.getPaymentId().equals(id)).isPresent()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            analyticsCounters.paymentRemoved(existing.get());
+            fraudSignalService.paymentRemoved(existing.get());
             payment.setPaymentId(id);
             PremiumPayment updated = paymentRepository.save(payment);
+            analyticsCounters.paymentAdded(updated);
+            fraudSignalService.paymentAdded(updated);
+            changeEventBus.publish(ChangeEventBus.EntityType.PAYMENT, ChangeEventBus.Action.UPDATED,
+                    updated.getPaymentId(), customerIdOf(updated), updated);
+            transactionIdFilter.record(updated.getTransactionId());
             return ResponseEntity.ok(updated);
         }
         return ResponseEntity.notFound().build();
     }
+
+    // Lets customer-filtered event streams see payment changes
+    private Long customerIdOf(PremiumPayment payment) {
+        if (payment.getPolicyId() == null) {
+            return null;
+        }
+        return policyLookupService.findById(payment.getPolicyId()).map(Policy::getCustomerId).orElse(null);
+    }
 }
@@ -0,0 +1,16 @@
+package com.riskguard.premium.dto;
+
+import com.riskguard.customer.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuoteRequest {
+    private double[] coverageAmounts;
+    private double[] riskScores;
+    // Optional: rate the whole batch with this product's table instead of the default one
+    private Customer.InsuranceType insuranceType;
+}
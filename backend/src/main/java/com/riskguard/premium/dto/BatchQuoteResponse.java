@@ -0,0 +1,13 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuoteResponse {
+    private int count;
+    private double[] premiums;
+}
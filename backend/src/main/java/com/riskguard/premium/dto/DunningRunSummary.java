@@ -0,0 +1,25 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DunningRunSummary {
+    private LocalDate asOf;
+    private LocalDateTime startedAt;
+    private long elapsedMillis;
+    // Payments moved into each stage by this run
+    private Map<String, Long> advanced;
+    private long totalAdvanced;
+    // Unpaid, past-due payments per stage after the run; NONE is not yet in dunning
+    private Map<String, Long> outstandingByStage;
+}
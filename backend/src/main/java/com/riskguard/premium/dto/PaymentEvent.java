@@ -0,0 +1,30 @@
+package com.riskguard.premium.dto;
+
+import com.riskguard.premium.entity.PremiumPayment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One gateway callback. transactionId identifies the payment; paymentId, when given, settles an
+ * existing scheduled installment instead of creating a new row.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentEvent {
+    private String transactionId;
+    private Long paymentId;
+    private Long policyId;
+    private BigDecimal amount;
+    private PremiumPayment.PaymentStatus status;
+    private String paymentMethod;
+    private LocalDate paymentDate;
+    private LocalDate dueDate;
+    private String remarks;
+}
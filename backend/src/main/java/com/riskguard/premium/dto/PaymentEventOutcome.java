@@ -0,0 +1,21 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentEventOutcome {
+    private int index;
+    private String transactionId;
+    private Outcome outcome;
+    private String message;
+
+    public enum Outcome {
+        INSERTED, UPDATED, DUPLICATE, REJECTED
+    }
+}
@@ -0,0 +1,46 @@
+package com.riskguard.premium.dto;
+
+import com.riskguard.customer.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rating tables as maintained by the actuaries, one JSON file. {@code defaults} prices any product
+ * without its own entry in {@code products}. Each band applies to values up to and including
+ * {@code upTo}; bands are in increasing order and the last one leaves {@code upTo} out to cover
+ * everything above. Age bands and coverage tiers are optional and default to a factor of 1.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingTableConfig {
+    private String version;
+    private Product defaults;
+    private Map<Customer.InsuranceType, Product> products;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Product {
+        // Annual premium as a fraction of coverage before factors
+        private double baseRate;
+        private List<Band> scoreBands;
+        private List<Band> ageBands;
+        private List<Band> coverageTiers;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Band {
+        private Double upTo;
+        private double factor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingTableStatus {
+    private String version;
+    private String source;
+    private LocalDateTime loadedAt;
+    // Set when the last reload attempt was rejected; the tables above stay in use
+    private String lastError;
+    private RatingTableConfig tables;
+}
@@ -0,0 +1,29 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Premium totals for one slice of the book. {@code currentPremium} is what policies are charged
+ * today, {@code currentTablesPremium} what the tables in use would charge, and
+ * {@code proposedPremium} what the candidate tables would charge.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingGroup {
+    private String key;
+    private long policies;
+    private double currentPremium;
+    private double currentTablesPremium;
+    private double proposedPremium;
+    // proposedPremium - currentPremium, and as a percentage of currentPremium
+    private double change;
+    private double changePercent;
+    // Policies whose proposed premium is above / below their current premium
+    private long increased;
+    private long decreased;
+}
@@ -0,0 +1,27 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepricingSimulation {
+    private String candidateVersion;
+    private String currentVersion;
+    private LocalDateTime snapshotTakenAt;
+    private long policiesRepriced;
+    // Active policies without coverage, premium or a risk assessment
+    private long policiesSkipped;
+    private long elapsedMillis;
+    private RepricingGroup total;
+    private List<RepricingGroup> byInsuranceType;
+    private List<RepricingGroup> byRiskLevel;
+    private List<RepricingGroup> byPremiumBand;
+}
@@ -0,0 +1,22 @@
+package com.riskguard.premium.dto;
+
+import com.riskguard.premium.service.InstallmentScheduleService;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Either explicit policy IDs or an issue-date range; policies that already have payments are skipped. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleRequest {
+    private List<Long> policyIds;
+    private LocalDate issuedFrom;
+    private LocalDate issuedTo;
+    private InstallmentScheduleService.Frequency frequency;
+}
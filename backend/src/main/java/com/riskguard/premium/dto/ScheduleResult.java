@@ -0,0 +1,24 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleResult {
+    private String frequency;
+    private int policiesScheduled;
+    private int installmentsCreated;
+    // Policies that already had payments
+    private int skippedExisting;
+    // Policies without a start date, end date or premium amount (first 1000 IDs)
+    private List<Long> skippedIncomplete;
+    private List<Long> notFound;
+    private long elapsedMillis;
+}
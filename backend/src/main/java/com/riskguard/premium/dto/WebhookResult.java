@@ -0,0 +1,24 @@
+package com.riskguard.premium.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookResult {
+    private int received;
+    private int inserted;
+    private int updated;
+    private int duplicates;
+    private int rejected;
+    // Events the filter cleared as new without a database lookup
+    private int screenedByFilter;
+    private List<PaymentEventOutcome> outcomes;
+    private long elapsedMillis;
+}
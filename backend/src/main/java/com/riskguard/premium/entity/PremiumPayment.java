@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "premium_payments")
+@Table(name = "premium_payments", indexes = {
+        @Index(name = "idx_payment_policy", columnList = "policyId"),
+        @Index(name = "uk_payment_transaction_id", columnList = "transactionId", unique = true),
+        @Index(name = "idx_payment_due_date", columnList = "dueDate"),
+        @Index(name = "idx_payment_date", columnList = "paymentDate"),
+        @Index(name = "idx_payment_dunning", columnList = "status, dunningStage, dueDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +38,10 @@ public class PremiumPayment {
     private LocalDate processedDate;
     private String remarks;
 
+    // Dunning stage number reached (1-based, see DunningService); null when not in dunning
+    private Integer dunningStage;
+    private LocalDate dunningStageDate;
+
     public enum PaymentStatus {
         PAID, UNPAID, PENDING, FAILED, CANCELLED
     }
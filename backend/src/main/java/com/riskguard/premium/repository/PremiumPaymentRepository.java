@@ -2,12 +2,31 @@ package com.riskguard.premium.repository;
 
 import com.riskguard.premium.entity.PremiumPayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PremiumPaymentRepository extends JpaRepository<PremiumPayment, Long> {
     List<PremiumPayment> findByPolicyId(Long policyId);
     List<PremiumPayment> findByStatus(PremiumPayment.PaymentStatus status);
+    Optional<PremiumPayment> findByTransactionId(String transactionId);
+    List<PremiumPayment> findByTransactionIdIn(Collection<String> transactionIds);
+
+    // Payments for every policy the customer holds, in one round trip
+    @Query("SELECT p FROM PremiumPayment p WHERE p.policyId IN "
+            + "(SELECT po.policyId FROM Policy po WHERE po.customerId = :customerId) "
+            + "ORDER BY p.dueDate DESC, p.paymentId DESC")
+    List<PremiumPayment> findByPolicyCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT DISTINCT p.policyId FROM PremiumPayment p WHERE p.policyId IN :policyIds")
+    List<Long> findPolicyIdsWithPayments(@Param("policyIds") Collection<Long> policyIds);
+
+    // Rows of [status, count, sum(amount)]
+    @Query("SELECT p.status, COUNT(p), COALESCE(SUM(p.amount), 0) FROM PremiumPayment p GROUP BY p.status")
+    List<Object[]> summarizeByStatus();
 }
@@ -0,0 +1,171 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.premium.dto.DunningRunSummary;
+import com.riskguard.common.events.ChangeEventBus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves unpaid, past-due premium payments through the configured dunning stages. Each stage is
+ * reached a number of days after the due date. The sweep runs entirely in SQL: for every stage,
+ * highest first, rows still in a lower stage are advanced with set-based UPDATEs over due_date
+ * windows, each window in its own transaction. The (status, dunning_stage, due_date) index keeps
+ * every statement a range scan, and no payment rows are loaded into memory.
+ */
+@Slf4j
+@Service
+public class DunningService {
+
+    public record Stage(int number, String name, int daysPastDue) {
+    }
+
+    private static final String UNPAID = "UNPAID";
+
+    @Value("${riskguard.dunning.stages:REMINDER:1,SECOND_NOTICE:15,FINAL_NOTICE:30,LAPSE_WARNING:60}")
+    private String stagesProperty;
+
+    @Value("${riskguard.dunning.window-days:7}")
+    private int windowDays;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private List<Stage> stages;
+    private volatile DunningRunSummary lastRun;
+
+    @PostConstruct
+    void parseStages() {
+        List<Stage> parsed = new ArrayList<>();
+        int previousDays = 0;
+        for (String entry : stagesProperty.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Dunning stage must be NAME:DAYS, got '" + entry + "'");
+            }
+            int days = Integer.parseInt(parts[1].trim());
+            if (days <= previousDays) {
+                throw new IllegalStateException("Dunning stage days must be positive and increasing");
+            }
+            parsed.add(new Stage(parsed.size() + 1, parts[0].trim(), days));
+            previousDays = days;
+        }
+        stages = List.copyOf(parsed);
+    }
+
+    public List<Stage> stages() {
+        return stages;
+    }
+
+    public Optional<DunningRunSummary> lastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    @Scheduled(cron = "${riskguard.dunning.cron:0 30 1 * * *}")
+    public void scheduledRun() {
+        run(LocalDate.now());
+    }
+
+    /** Runs a sweep as of the given date. Empty if a sweep is already in progress. */
+    public Optional<DunningRunSummary> run(LocalDate asOf) {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            Map<String, Long> advanced = new LinkedHashMap<>();
+            long total = 0;
+            for (int i = stages.size() - 1; i >= 0; i--) {
+                Stage stage = stages.get(i);
+                long moved = advanceTo(stage, asOf.minusDays(stage.daysPastDue()), asOf);
+                advanced.put(stage.name(), moved);
+                total += moved;
+            }
+            DunningRunSummary summary = DunningRunSummary.builder()
+                    .asOf(asOf)
+                    .startedAt(startedAt)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .advanced(advanced)
+                    .totalAdvanced(total)
+                    .outstandingByStage(outstandingByStage(asOf))
+                    .build();
+            lastRun = summary;
+            changeEventBus.publishBulk(ChangeEventBus.EntityType.PAYMENT, total);
+            log.info("Dunning run as of {} advanced {} payments in {} ms: {}", asOf, total, summary.getElapsedMillis(), advanced);
+            auditService.log("DUNNING_RUN", "PremiumPayment", null, "system",
+                    "asOf=" + asOf + ";advanced=" + advanced + ";outstanding=" + summary.getOutstandingByStage());
+            return Optional.of(summary);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Advances every unpaid payment due on or before {@code cutoff} that is below the stage. */
+    private long advanceTo(Stage stage, LocalDate cutoff, LocalDate asOf) {
+        long moved = 0;
+        // Payments not yet in dunning have a NULL stage; each source stage is its own index range
+        for (int source = 0; source < stage.number(); source++) {
+            String stageClause = source == 0 ? "dunning_stage IS NULL" : "dunning_stage = " + source;
+            String nextDue = "SELECT MIN(due_date) FROM premium_payments WHERE status = ? AND " + stageClause
+                    + " AND due_date <= ?";
+            String update = "UPDATE premium_payments SET dunning_stage = ?, dunning_stage_date = ? "
+                    + "WHERE status = ? AND " + stageClause + " AND due_date >= ? AND due_date < ?";
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            LocalDate end = cutoff.plusDays(1);
+            // Advanced rows leave the source range, so the next MIN skips straight past empty gaps
+            LocalDate from;
+            while ((from = jdbcTemplate.queryForObject(nextDue, LocalDate.class, UNPAID, Date.valueOf(cutoff))) != null) {
+                LocalDate windowFrom = from;
+                LocalDate to = from.plusDays(windowDays).isAfter(end) ? end : from.plusDays(windowDays);
+                Integer rows = tx.execute(status -> jdbcTemplate.update(update,
+                        stage.number(), Date.valueOf(asOf), UNPAID, Date.valueOf(windowFrom), Date.valueOf(to)));
+                moved += rows != null ? rows : 0;
+            }
+        }
+        return moved;
+    }
+
+    private Map<String, Long> outstandingByStage(LocalDate asOf) {
+        Map<String, Long> outstanding = new LinkedHashMap<>();
+        outstanding.put("NONE", 0L);
+        stages.forEach(stage -> outstanding.put(stage.name(), 0L));
+        jdbcTemplate.query("SELECT dunning_stage, COUNT(*) FROM premium_payments WHERE status = ? AND due_date < ? "
+                        + "GROUP BY dunning_stage",
+                rs -> {
+                    int stage = rs.getInt(1);
+                    String name = rs.wasNull() || stage < 1 || stage > stages.size() ? "NONE" : stages.get(stage - 1).name();
+                    outstanding.merge(name, rs.getLong(2), Long::sum);
+                },
+                UNPAID, Date.valueOf(asOf));
+        return outstanding;
+    }
+}
@@ -0,0 +1,260 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.premium.dto.ScheduleRequest;
+import com.riskguard.premium.dto.ScheduleResult;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.premium.repository.PremiumPaymentRepository;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.common.events.ChangeEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates UNPAID installment rows covering a policy's start-to-end term. premiumAmount is the
+ * annual premium: the term's total is prorated by whole months (the end date is inclusive), split
+ * evenly across the installments, and any rounding remainder goes on the first installment so the
+ * schedule sums exactly. Schedules are inserted with JDBC batches, one transaction per chunk of
+ * policies; the chunk's policy rows are locked before checking for existing payments, so two
+ * concurrent runs can't both schedule the same policy.
+ */
+@Service
+public class InstallmentScheduleService {
+
+    public enum Frequency {
+        MONTHLY(1), QUARTERLY(3), ANNUAL(12);
+
+        private final int months;
+
+        Frequency(int months) {
+            this.months = months;
+        }
+
+        public int months() {
+            return months;
+        }
+    }
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_LISTED = 1000;
+    private static final String INSERT_PAYMENT =
+            "INSERT INTO premium_payments (policy_id, amount, status, due_date, remarks) VALUES (?, ?, ?, ?, ?)";
+
+    @Value("${riskguard.installments.default-frequency:MONTHLY}")
+    private Frequency defaultFrequency;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PremiumPaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    public Frequency defaultFrequency() {
+        return defaultFrequency;
+    }
+
+    /** Builds the schedule without saving it. Empty when the policy lacks dates or a premium. */
+    public List<PremiumPayment> plan(Policy policy, Frequency frequency) {
+        LocalDate start = policy.getStartDate();
+        LocalDate end = policy.getEndDate();
+        BigDecimal annual = policy.getPremiumAmount();
+        if (start == null || end == null || annual == null || !end.isAfter(start)) {
+            return List.of();
+        }
+        long termMonths = Math.max(1, ChronoUnit.MONTHS.between(start, end.plusDays(1)));
+        int count = (int) ((termMonths + frequency.months() - 1) / frequency.months());
+        BigDecimal total = annual.multiply(BigDecimal.valueOf(termMonths))
+                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+        BigDecimal each = total.divide(BigDecimal.valueOf(count), 2, RoundingMode.DOWN);
+        BigDecimal first = total.subtract(each.multiply(BigDecimal.valueOf(count - 1L)));
+
+        List<PremiumPayment> installments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            installments.add(PremiumPayment.builder()
+                    .policyId(policy.getPolicyId())
+                    .amount(i == 0 ? first : each)
+                    .status(PremiumPayment.PaymentStatus.UNPAID)
+                    .dueDate(start.plusMonths((long) i * frequency.months()))
+                    .remarks(frequency.name() + " installment " + (i + 1) + "/" + count)
+                    .build());
+        }
+        return installments;
+    }
+
+    /** Generates the schedule for one policy unless it already has payments. */
+    public ScheduleResult generate(Policy policy, Frequency frequency) {
+        return generate(List.of(policy), frequency, List.of());
+    }
+
+    /** Saves a new policy and generates its schedule in one transaction. */
+    public Policy saveWithSchedule(Policy policy, Frequency frequency) {
+        List<PremiumPayment> installments = new ArrayList<>();
+        Policy saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Policy inserted = policyRepository.save(policy);
+            installments.addAll(schedule(List.of(inserted), frequency, emptyResult(frequency, List.of())));
+            return inserted;
+        });
+        if (!installments.isEmpty()) {
+            installments.forEach(analyticsCounters::paymentAdded);
+            publishCreated(List.of(saved), installments);
+        }
+        return saved;
+    }
+
+    public ScheduleResult generate(ScheduleRequest request) {
+        Frequency frequency = request.getFrequency() != null ? request.getFrequency() : defaultFrequency;
+        boolean byIds = request.getPolicyIds() != null && !request.getPolicyIds().isEmpty();
+        boolean byRange = request.getIssuedFrom() != null && request.getIssuedTo() != null;
+        if (byIds == byRange) {
+            throw new IllegalArgumentException("Give either policyIds or issuedFrom and issuedTo");
+        }
+        if (byIds) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getPolicyIds()));
+            List<Policy> policies = new ArrayList<>(ids.size());
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                policies.addAll(policyRepository.findAllById(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))));
+            }
+            Set<Long> found = new HashSet<>();
+            policies.forEach(p -> found.add(p.getPolicyId()));
+            List<Long> missing = ids.stream().filter(id -> !found.contains(id)).limit(MAX_LISTED).toList();
+            return generate(policies, frequency, missing);
+        }
+
+        // Issue-date mode walks the unscheduled policies in ID order, one chunk at a time
+        long started = System.nanoTime();
+        ScheduleResult total = emptyResult(frequency, List.of());
+        long afterId = 0;
+        List<Policy> page;
+        do {
+            page = policyRepository.findUnscheduledIssuedBetween(request.getIssuedFrom(), request.getIssuedTo(),
+                    afterId, PageRequest.ofSize(CHUNK_SIZE));
+            if (!page.isEmpty()) {
+                merge(total, generate(page, frequency, List.of()));
+                afterId = page.get(page.size() - 1).getPolicyId();
+            }
+        } while (page.size() == CHUNK_SIZE);
+        total.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return total;
+    }
+
+    private ScheduleResult generate(List<Policy> policies, Frequency frequency, List<Long> notFound) {
+        long started = System.nanoTime();
+        ScheduleResult result = emptyResult(frequency, notFound);
+        for (int from = 0; from < policies.size(); from += CHUNK_SIZE) {
+            List<Policy> chunk = policies.subList(from, Math.min(from + CHUNK_SIZE, policies.size()));
+            List<PremiumPayment> installments = new TransactionTemplate(transactionManager)
+                    .execute(status -> schedule(chunk, frequency, result));
+            if (!installments.isEmpty()) {
+                installments.forEach(analyticsCounters::paymentAdded);
+                publishCreated(chunk, installments);
+                result.setInstallmentsCreated(result.getInstallmentsCreated() + installments.size());
+            }
+        }
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
+
+    // Runs in the caller's transaction: locks the policies, skips any that already have payments
+    private List<PremiumPayment> schedule(List<Policy> chunk, Frequency frequency, ScheduleResult result) {
+        List<Long> ids = chunk.stream().map(Policy::getPolicyId).toList();
+        policyRepository.lockAllById(ids);
+        Set<Long> scheduled = new HashSet<>(paymentRepository.findPolicyIdsWithPayments(ids));
+        List<PremiumPayment> planned = new ArrayList<>();
+        for (Policy policy : chunk) {
+            if (scheduled.contains(policy.getPolicyId())) {
+                result.setSkippedExisting(result.getSkippedExisting() + 1);
+                continue;
+            }
+            List<PremiumPayment> installments = plan(policy, frequency);
+            if (installments.isEmpty()) {
+                if (result.getSkippedIncomplete().size() < MAX_LISTED) {
+                    result.getSkippedIncomplete().add(policy.getPolicyId());
+                }
+                continue;
+            }
+            planned.addAll(installments);
+            result.setPoliciesScheduled(result.getPoliciesScheduled() + 1);
+        }
+        if (!planned.isEmpty()) {
+            insertAll(planned);
+        }
+        return planned;
+    }
+
+    // Batch inserts return no IDs, so per-row events read the new schedules back
+    private void publishCreated(List<Policy> chunk, List<PremiumPayment> installments) {
+        if (changeEventBus.isBulk(installments.size())) {
+            changeEventBus.publishBulk(ChangeEventBus.EntityType.PAYMENT, installments.size());
+            return;
+        }
+        Map<Long, Long> customers = new HashMap<>();
+        chunk.forEach(policy -> customers.put(policy.getPolicyId(), policy.getCustomerId()));
+        Set<Long> policyIds = new HashSet<>();
+        installments.forEach(p -> policyIds.add(p.getPolicyId()));
+        List<PremiumPayment> created = new ArrayList<>();
+        policyIds.forEach(policyId -> created.addAll(paymentRepository.findByPolicyId(policyId)));
+        changeEventBus.publishAll(ChangeEventBus.EntityType.PAYMENT, ChangeEventBus.Action.CREATED, created,
+                PremiumPayment::getPaymentId, p -> customers.get(p.getPolicyId()));
+    }
+
+    private void insertAll(List<PremiumPayment> payments) {
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT, payments, CHUNK_SIZE, (ps, p) -> {
+            ps.setLong(1, p.getPolicyId());
+            ps.setBigDecimal(2, p.getAmount());
+            ps.setString(3, p.getStatus().name());
+            ps.setDate(4, Date.valueOf(p.getDueDate()));
+            ps.setString(5, p.getRemarks());
+        });
+    }
+
+    private static ScheduleResult emptyResult(Frequency frequency, List<Long> notFound) {
+        return ScheduleResult.builder()
+                .frequency(frequency.name())
+                .skippedIncomplete(new ArrayList<>())
+                .notFound(notFound)
+                .build();
+    }
+
+    private static void merge(ScheduleResult into, ScheduleResult chunk) {
+        into.setPoliciesScheduled(into.getPoliciesScheduled() + chunk.getPoliciesScheduled());
+        into.setInstallmentsCreated(into.getInstallmentsCreated() + chunk.getInstallmentsCreated());
+        into.setSkippedExisting(into.getSkippedExisting() + chunk.getSkippedExisting());
+        for (Long id : chunk.getSkippedIncomplete()) {
+            if (into.getSkippedIncomplete().size() < MAX_LISTED) {
+                into.getSkippedIncomplete().add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.FraudSignalService;
+import com.riskguard.premium.dto.PaymentEvent;
+import com.riskguard.premium.dto.PaymentEventOutcome;
+import com.riskguard.premium.dto.WebhookResult;
+import com.riskguard.premium.entity.PremiumPayment;
+import com.riskguard.premium.repository.PremiumPaymentRepository;
+import com.riskguard.common.events.ChangeEventBus;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.service.PolicyLookupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Applies batches of payment gateway callbacks idempotently. Events are keyed by transactionId:
+ * IDs the {@link TransactionIdFilter} has never seen are inserted without a lookup, the rest are
+ * checked against the database in one query. A retry with an unchanged status is reported as a
+ * duplicate; a status change updates the existing row. Each chunk commits on its own, and every
+ * write reports whether it took effect: new rows go in one INSERT IGNORE at a time against the
+ * unique transaction_id index (see {@link TransactionIdIndexMigration}), since a rewritten batch
+ * hides per-row counts; status changes and settlements are batched UPDATEs guarded by the state
+ * they were read in. A write that affected nothing lost a race with a concurrent delivery, so the
+ * event is read again and goes through the existing-row path, which keeps the analytics counters
+ * balanced. A chunk that hits a constraint violation is retried one event at a time.
+ */
+@Service
+public class PaymentWebhookService {
+
+    static final int MAX_EVENTS = 5000;
+    private static final int CHUNK_SIZE = 1000;
+
+    // Rounds of re-reading events whose write lost a race before they are rejected
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String INSERT_PAYMENT =
+            "INSERT IGNORE INTO premium_payments (policy_id, amount, status, payment_method, transaction_id, "
+                    + "payment_date, due_date, processed_date, remarks) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_PAYMENT =
+            "UPDATE premium_payments SET status = ?, payment_method = ?, payment_date = ?, processed_date = ? "
+                    + "WHERE payment_id = ? AND status = ?";
+
+    private static final String SETTLE_INSTALLMENT =
+            "UPDATE premium_payments SET transaction_id = ?, status = ?, "
+                    + "payment_method = COALESCE(?, payment_method), payment_date = COALESCE(?, payment_date), "
+                    + "processed_date = ? WHERE payment_id = ? AND transaction_id IS NULL";
+
+    @Autowired
+    private PremiumPaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionIdFilter transactionIdFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private FraudSignalService fraudSignalService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private PolicyLookupService policyLookupService;
+
+    private record Write(int index, PremiumPayment previous, PremiumPayment next, boolean settle) {
+    }
+
+    public WebhookResult apply(List<PaymentEvent> events) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("At least one event is required");
+        }
+        if (events.size() > MAX_EVENTS) {
+            throw new IllegalArgumentException("At most " + MAX_EVENTS + " events per call");
+        }
+        long started = System.nanoTime();
+        PaymentEventOutcome[] outcomes = new PaymentEventOutcome[events.size()];
+
+        // Validate and keep the last event per transaction ID; earlier ones are superseded retries
+        Map<String, Integer> latest = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            PaymentEvent event = events.get(i);
+            String error = validate(event);
+            if (error != null) {
+                outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.REJECTED, error);
+                continue;
+            }
+            Integer previous = latest.put(event.getTransactionId(), i);
+            if (previous != null) {
+                outcomes[previous] = outcome(previous, events.get(previous), PaymentEventOutcome.Outcome.DUPLICATE,
+                        "Superseded by a later event in this batch");
+            }
+        }
+
+        List<String> maybeSeen = new ArrayList<>();
+        int screened = 0;
+        for (String transactionId : latest.keySet()) {
+            if (transactionIdFilter.mightContain(transactionId)) {
+                maybeSeen.add(transactionId);
+            } else {
+                screened++;
+            }
+        }
+
+        List<Write> writes = new ArrayList<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Map<String, PremiumPayment> existing = new HashMap<>();
+            for (int from = 0; from < maybeSeen.size(); from += CHUNK_SIZE) {
+                paymentRepository.findByTransactionIdIn(maybeSeen.subList(from, Math.min(from + CHUNK_SIZE, maybeSeen.size())))
+                        .forEach(p -> existing.put(p.getTransactionId(), p));
+            }
+            List<Long> installmentIds = new ArrayList<>();
+            for (Integer i : latest.values()) {
+                PaymentEvent event = events.get(i);
+                if (event.getPaymentId() != null && !existing.containsKey(event.getTransactionId())) {
+                    installmentIds.add(event.getPaymentId());
+                }
+            }
+            Map<Long, PremiumPayment> installments = new HashMap<>();
+            for (int from = 0; from < installmentIds.size(); from += CHUNK_SIZE) {
+                paymentRepository.findAllById(installmentIds.subList(from, Math.min(from + CHUNK_SIZE, installmentIds.size())))
+                        .forEach(p -> installments.put(p.getPaymentId(), p));
+            }
+
+            LocalDate today = LocalDate.now();
+            for (Integer i : latest.values()) {
+                PaymentEvent event = events.get(i);
+                PremiumPayment current = existing.get(event.getTransactionId());
+                if (current != null) {
+                    Write write = change(i, event, current, today, outcomes);
+                    if (write != null) {
+                        writes.add(write);
+                    }
+                } else if (event.getPaymentId() != null) {
+                    PremiumPayment installment = installments.get(event.getPaymentId());
+                    if (installment == null) {
+                        outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.REJECTED, "paymentId not found");
+                    } else if (installment.getTransactionId() != null) {
+                        outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.REJECTED,
+                                "Payment already settled by another transaction");
+                    } else {
+                        PremiumPayment next = merge(installment, event, today);
+                        next.setTransactionId(event.getTransactionId());
+                        writes.add(new Write(i, installment, next, true));
+                        outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.UPDATED, null);
+                    }
+                } else if (event.getPolicyId() == null || event.getAmount() == null) {
+                    outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.REJECTED,
+                            "policyId and amount are required for a new payment");
+                } else {
+                    PremiumPayment next = PremiumPayment.builder()
+                            .policyId(event.getPolicyId())
+                            .amount(event.getAmount())
+                            .status(event.getStatus())
+                            .paymentMethod(event.getPaymentMethod())
+                            .transactionId(event.getTransactionId())
+                            .paymentDate(event.getPaymentDate())
+                            .dueDate(event.getDueDate())
+                            .processedDate(today)
+                            .remarks(event.getRemarks())
+                            .build();
+                    writes.add(new Write(i, null, next, false));
+                    outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.INSERTED, null);
+                }
+            }
+        });
+
+        List<PremiumPayment> removed = new ArrayList<>();
+        List<PremiumPayment> added = new ArrayList<>();
+        List<Write> pending = writes;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<Write> lost = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+                List<Write> chunk = pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size()));
+                try {
+                    apply(transaction, chunk, removed, added, lost);
+                } catch (DataIntegrityViolationException e) {
+                    // One conflicting row fails the whole statement batch; retry row by row to isolate it
+                    for (Write write : chunk) {
+                        try {
+                            apply(transaction, List.of(write), removed, added, lost);
+                        } catch (DataIntegrityViolationException rowError) {
+                            lost.add(write);
+                        }
+                    }
+                }
+            }
+            pending = attempt < MAX_ATTEMPTS ? reread(lost, events, outcomes) : List.of();
+            if (attempt == MAX_ATTEMPTS) {
+                lost.forEach(write -> outcomes[write.index()] = outcome(write.index(), events.get(write.index()),
+                        PaymentEventOutcome.Outcome.REJECTED, "Payment is being changed concurrently; retry"));
+            }
+        }
+
+        latest.forEach((transactionId, i) -> {
+            if (outcomes[i].getOutcome() != PaymentEventOutcome.Outcome.REJECTED) {
+                transactionIdFilter.record(transactionId);
+            }
+        });
+        removed.forEach(analyticsCounters::paymentRemoved);
+        added.forEach(analyticsCounters::paymentAdded);
+        removed.forEach(fraudSignalService::paymentRemoved);
+        added.forEach(fraudSignalService::paymentAdded);
+        publishChanges(added);
+
+        WebhookResult result = WebhookResult.builder()
+                .received(events.size())
+                .screenedByFilter(screened)
+                .outcomes(List.of(outcomes))
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .build();
+        for (PaymentEventOutcome outcome : outcomes) {
+            switch (outcome.getOutcome()) {
+                case INSERTED -> result.setInserted(result.getInserted() + 1);
+                case UPDATED -> result.setUpdated(result.getUpdated() + 1);
+                case DUPLICATE -> result.setDuplicates(result.getDuplicates() + 1);
+                case REJECTED -> result.setRejected(result.getRejected() + 1);
+            }
+        }
+        return result;
+    }
+
+    // Per-row events need the IDs of inserted rows, so those are read back unless it's a bulk change
+    private void publishChanges(List<PremiumPayment> added) {
+        if (changeEventBus.isBulk(added.size())) {
+            changeEventBus.publishBulk(ChangeEventBus.EntityType.PAYMENT, added.size());
+            return;
+        }
+        List<String> inserted = added.stream()
+                .filter(p -> p.getPaymentId() == null)
+                .map(PremiumPayment::getTransactionId)
+                .toList();
+        Function<PremiumPayment, Long> customerId = p -> policyLookupService.findById(p.getPolicyId())
+                .map(Policy::getCustomerId)
+                .orElse(null);
+        if (!inserted.isEmpty()) {
+            changeEventBus.publishAll(ChangeEventBus.EntityType.PAYMENT, ChangeEventBus.Action.CREATED,
+                    paymentRepository.findByTransactionIdIn(inserted), PremiumPayment::getPaymentId, customerId);
+        }
+        changeEventBus.publishAll(ChangeEventBus.EntityType.PAYMENT, ChangeEventBus.Action.UPDATED,
+                added.stream().filter(p -> p.getPaymentId() != null).toList(), PremiumPayment::getPaymentId, customerId);
+    }
+
+    /**
+     * Writes one chunk in its own transaction. Counters change only once it commits; writes that
+     * affected no row go to {@code lost}.
+     */
+    private void apply(TransactionTemplate transaction, List<Write> chunk, List<PremiumPayment> removed,
+                       List<PremiumPayment> added, List<Write> lost) {
+        List<Write> inserts = new ArrayList<>();
+        List<Write> updates = new ArrayList<>();
+        List<Write> settlements = new ArrayList<>();
+        chunk.forEach(write -> (write.settle() ? settlements : write.previous() == null ? inserts : updates).add(write));
+        List<Write> applied = new ArrayList<>();
+        List<Write> missed = new ArrayList<>();
+        transaction.executeWithoutResult(status -> {
+            for (Write write : inserts) {
+                (jdbcTemplate.update(INSERT_PAYMENT, ps -> bindInsert(ps, write.next())) > 0 ? applied : missed).add(write);
+            }
+            if (!updates.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_PAYMENT, updates, CHUNK_SIZE, (ps, write) -> {
+                    PremiumPayment p = write.next();
+                    ps.setString(1, p.getStatus().name());
+                    ps.setString(2, p.getPaymentMethod());
+                    setDate(ps, 3, p.getPaymentDate());
+                    setDate(ps, 4, p.getProcessedDate());
+                    ps.setLong(5, p.getPaymentId());
+                    ps.setString(6, write.previous().getStatus().name());
+                })[0];
+                sort(updates, counts, applied, missed);
+            }
+            if (!settlements.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(SETTLE_INSTALLMENT, settlements, CHUNK_SIZE, (ps, write) -> {
+                    PremiumPayment p = write.next();
+                    ps.setString(1, p.getTransactionId());
+                    ps.setString(2, p.getStatus().name());
+                    ps.setString(3, p.getPaymentMethod());
+                    setDate(ps, 4, p.getPaymentDate());
+                    setDate(ps, 5, p.getProcessedDate());
+                    ps.setLong(6, p.getPaymentId());
+                })[0];
+                sort(settlements, counts, applied, missed);
+            }
+        });
+        for (Write write : applied) {
+            if (write.previous() != null) {
+                removed.add(write.previous());
+            }
+            added.add(write.next());
+        }
+        lost.addAll(missed);
+    }
+
+    // A batch count of 0 means the guarded row changed since it was read
+    private static void sort(List<Write> writes, int[] counts, List<Write> applied, List<Write> missed) {
+        for (int k = 0; k < writes.size(); k++) {
+            (counts[k] == 0 ? missed : applied).add(writes.get(k));
+        }
+    }
+
+    /**
+     * Reads the payments behind writes that lost a race and routes each event through the
+     * existing-row path again. With no row for its transaction ID the event is rejected: a lost
+     * settlement means the installment was settled by another transaction.
+     */
+    private List<Write> reread(List<Write> lost, List<PaymentEvent> events, PaymentEventOutcome[] outcomes) {
+        if (lost.isEmpty()) {
+            return List.of();
+        }
+        Map<String, PremiumPayment> current = new HashMap<>();
+        paymentRepository.findByTransactionIdIn(lost.stream().map(write -> write.next().getTransactionId()).toList())
+                .forEach(p -> current.put(p.getTransactionId(), p));
+        LocalDate today = LocalDate.now();
+        List<Write> retries = new ArrayList<>();
+        for (Write write : lost) {
+            int i = write.index();
+            PaymentEvent event = events.get(i);
+            PremiumPayment payment = current.get(event.getTransactionId());
+            if (payment == null) {
+                outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.REJECTED, write.settle()
+                        ? "Payment already settled by another transaction" : "Conflicts with an existing payment");
+                continue;
+            }
+            Write retry = change(i, event, payment, today, outcomes);
+            if (retry != null) {
+                retries.add(retry);
+            }
+        }
+        return retries;
+    }
+
+    // Existing-row path: a retry with the same status is a duplicate, anything else updates the row
+    private static Write change(int i, PaymentEvent event, PremiumPayment current, LocalDate today,
+                                PaymentEventOutcome[] outcomes) {
+        if (current.getStatus() == event.getStatus()) {
+            outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.DUPLICATE, "Already applied");
+            return null;
+        }
+        outcomes[i] = outcome(i, event, PaymentEventOutcome.Outcome.UPDATED, null);
+        return new Write(i, current, merge(current, event, today), false);
+    }
+
+    private static String validate(PaymentEvent event) {
+        if (event == null) {
+            return "Event is empty";
+        }
+        if (event.getTransactionId() == null || event.getTransactionId().isBlank()) {
+            return "transactionId is required";
+        }
+        if (event.getStatus() == null) {
+            return "status is required";
+        }
+        if (event.getAmount() != null && event.getAmount().signum() < 0) {
+            return "amount must not be negative";
+        }
+        return null;
+    }
+
+    private static PremiumPayment merge(PremiumPayment current, PaymentEvent event, LocalDate today) {
+        return PremiumPayment.builder()
+                .paymentId(current.getPaymentId())
+                .policyId(current.getPolicyId())
+                .amount(current.getAmount())
+                .status(event.getStatus())
+                .paymentMethod(event.getPaymentMethod() != null ? event.getPaymentMethod() : current.getPaymentMethod())
+                .transactionId(current.getTransactionId())
+                .paymentDate(event.getPaymentDate() != null ? event.getPaymentDate() : current.getPaymentDate())
+                .dueDate(current.getDueDate())
+                .processedDate(today)
+                .remarks(current.getRemarks())
+                .dunningStage(current.getDunningStage())
+                .dunningStageDate(current.getDunningStageDate())
+                .build();
+    }
+
+    private static PaymentEventOutcome outcome(int index, PaymentEvent event, PaymentEventOutcome.Outcome outcome, String message) {
+        return new PaymentEventOutcome(index, event != null ? event.getTransactionId() : null, outcome, message);
+    }
+
+    private static void bindInsert(PreparedStatement ps, PremiumPayment p) throws SQLException {
+        ps.setLong(1, p.getPolicyId());
+        ps.setBigDecimal(2, p.getAmount());
+        ps.setString(3, p.getStatus().name());
+        ps.setString(4, p.getPaymentMethod());
+        ps.setString(5, p.getTransactionId());
+        setDate(ps, 6, p.getPaymentDate());
+        setDate(ps, 7, p.getDueDate());
+        setDate(ps, 8, p.getProcessedDate());
+        ps.setString(9, p.getRemarks());
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date != null) {
+            ps.setDate(index, Date.valueOf(date));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+}
@@ -1,19 +1,70 @@
 package com.riskguard.premium.service;
 
+import com.riskguard.customer.entity.Customer;
 import org.springframework.stereotype.Service;
 
+/**
+ * Quotes annual premiums as base rate x coverage x score, age and coverage-tier factors from the
+ * product's {@link RatingTable}. Tables start as the built-in defaults and are replaced at runtime
+ * by {@link RatingTableLoader}; each call reads the current {@link RatingTables} once, so a swap
+ * never blocks a quote and never mixes two versions within one batch.
+ */
 @Service
 public class PremiumService {
-    // Base rate as percentage of coverage per year
-    private static final double BASE_RATE = 0.005; // 0.5%
 
+    private volatile RatingTables tables = RatingTables.builtIn();
+
+    public RatingTables tables() {
+        return tables;
+    }
+
+    /** Swaps in a compiled set of tables; quotes already running finish on the old set. */
+    public void install(RatingTables next) {
+        tables = next;
+    }
+
+    /** Quotes with the default table, for callers that don't know the product. */
     public double computePremium(double coverageAmount, double riskScore) {
-        double riskFactor;
-        if (riskScore <= 25) riskFactor = 0.8;
-        else if (riskScore <= 50) riskFactor = 1.0;
-        else if (riskScore <= 75) riskFactor = 1.3;
-        else riskFactor = 1.7;
-        // premium = baseRate * coverage * riskFactor
-        return Math.round(BASE_RATE * coverageAmount * riskFactor * 100.0) / 100.0;
+        return tables.defaults().premium(coverageAmount, riskScore, Double.NaN);
+    }
+
+    /** Quotes with the product's table. {@code age} in years, or {@code Double.NaN} if unknown. */
+    public double computePremium(Customer.InsuranceType insuranceType, double coverageAmount, double riskScore, double age) {
+        return tables.forType(insuranceType).premium(coverageAmount, riskScore, age);
+    }
+
+    /**
+     * Quotes {@code coverageAmounts[i]} at {@code riskScores[i]} into {@code premiums[i]} with the
+     * same table and rounding as {@link #computePremium(double, double)}. The loop is allocation-free
+     * and has no data-dependent branches; see {@link RatingTable#premiums}.
+     */
+    public void computePremiums(double[] coverageAmounts, double[] riskScores, double[] premiums) {
+        computePremiums((Customer.InsuranceType) null, coverageAmounts, riskScores, premiums);
+    }
+
+    /** Batch quote for a single product; a null type uses the default table. */
+    public void computePremiums(Customer.InsuranceType insuranceType, double[] coverageAmounts, double[] riskScores,
+                                double[] premiums) {
+        int n = coverageAmounts.length;
+        if (riskScores.length != n || premiums.length < n) {
+            throw new IllegalArgumentException("coverageAmounts and riskScores must have the same length");
+        }
+        tables.forType(insuranceType).premiums(coverageAmounts, riskScores, premiums, n);
+    }
+
+    /**
+     * Batch quote over mixed products: row {@code i} is rated with {@code insuranceTypes[i]}'s
+     * table (default when null) and {@code ages[i]} (NaN when unknown).
+     */
+    public void computePremiums(Customer.InsuranceType[] insuranceTypes, double[] coverageAmounts, double[] riskScores,
+                                double[] ages, double[] premiums) {
+        int n = coverageAmounts.length;
+        if (insuranceTypes.length != n || riskScores.length != n || ages.length != n || premiums.length < n) {
+            throw new IllegalArgumentException("insuranceTypes, coverageAmounts, riskScores and ages must have the same length");
+        }
+        RatingTables current = tables;
+        for (int i = 0; i < n; i++) {
+            premiums[i] = current.forType(insuranceTypes[i]).premium(coverageAmounts[i], riskScores[i], ages[i]);
+        }
     }
 }
@@ -0,0 +1,130 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.premium.dto.RatingTableConfig;
+
+import java.util.List;
+
+/**
+ * One product's compiled rating table. Each dimension is a pair of flat arrays, band upper bounds
+ * and factors, and a value's band is the first bound at or above it, found by counting the bounds
+ * below it with arithmetic step masks rather than searching, so lookups have no data-dependent
+ * branches. Tables have a handful of bands. The last bound is {@code +Infinity} so every value
+ * lands in a band. Instances are immutable and safe to share between quoting threads.
+ */
+public final class RatingTable {
+
+    private static final double[] NONE = new double[0];
+    // Stand-in for a missing dimension in batch quoting: one band with factor 1, which is exact
+    private static final double[] ONE_BAND_UPPER = {Double.POSITIVE_INFINITY};
+    private static final double[] ONE_BAND_FACTOR = {1.0};
+    private static final long SIGN = 0x8000000000000000L;
+    private static final long INFINITY_BITS = 0x7ff0000000000000L;
+
+    private final double baseRate;
+    private final double[] scoreUpper;
+    private final double[] scoreFactor;
+    private final double[] ageUpper;
+    private final double[] ageFactor;
+    private final double[] coverageUpper;
+    private final double[] coverageFactor;
+
+    private RatingTable(double baseRate, double[][] score, double[][] age, double[][] coverage) {
+        this.baseRate = baseRate;
+        this.scoreUpper = score[0];
+        this.scoreFactor = score[1];
+        this.ageUpper = age[0];
+        this.ageFactor = age[1];
+        this.coverageUpper = coverage[0];
+        this.coverageFactor = coverage[1];
+    }
+
+    /** Validates and compiles one product. Throws {@link IllegalArgumentException} naming the bad entry. */
+    public static RatingTable compile(String name, RatingTableConfig.Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException(name + ": table is missing");
+        }
+        if (!(product.getBaseRate() > 0) || Double.isInfinite(product.getBaseRate())) {
+            throw new IllegalArgumentException(name + ": baseRate must be positive");
+        }
+        if (product.getScoreBands() == null || product.getScoreBands().isEmpty()) {
+            throw new IllegalArgumentException(name + ": scoreBands are required");
+        }
+        return new RatingTable(product.getBaseRate(),
+                bands(name + ".scoreBands", product.getScoreBands()),
+                bands(name + ".ageBands", product.getAgeBands()),
+                bands(name + ".coverageTiers", product.getCoverageTiers()));
+    }
+
+    private static double[][] bands(String name, List<RatingTableConfig.Band> bands) {
+        if (bands == null || bands.isEmpty()) {
+            return new double[][]{NONE, NONE};
+        }
+        double[] upper = new double[bands.size()];
+        double[] factor = new double[bands.size()];
+        for (int i = 0; i < bands.size(); i++) {
+            RatingTableConfig.Band band = bands.get(i);
+            boolean last = i == bands.size() - 1;
+            if (band.getUpTo() == null != last) {
+                throw new IllegalArgumentException(name + "[" + i + "]: only the last band may omit upTo, and it must");
+            }
+            upper[i] = last ? Double.POSITIVE_INFINITY : band.getUpTo();
+            if (Double.isNaN(upper[i]) || i > 0 && upper[i] <= upper[i - 1]) {
+                throw new IllegalArgumentException(name + "[" + i + "]: upTo must be increasing");
+            }
+            if (!(band.getFactor() > 0) || Double.isInfinite(band.getFactor())) {
+                throw new IllegalArgumentException(name + "[" + i + "]: factor must be positive");
+            }
+            factor[i] = band.getFactor();
+        }
+        return new double[][]{upper, factor};
+    }
+
+    /**
+     * Annual premium rounded to cents. Pass {@code Double.NaN} for an unknown age to leave the age
+     * factor out.
+     */
+    public double premium(double coverageAmount, double riskScore, double age) {
+        double premium = baseRate * coverageAmount * lookup(scoreUpper, scoreFactor, riskScore);
+        if (ageFactor.length > 0 && !Double.isNaN(age)) {
+            premium *= lookup(ageUpper, ageFactor, age);
+        }
+        if (coverageFactor.length > 0) {
+            premium *= lookup(coverageUpper, coverageFactor, coverageAmount);
+        }
+        return Math.round(premium * 100.0) / 100.0;
+    }
+
+    /**
+     * Batch form of {@link #premium(double, double, double)} with the age left out: same bands,
+     * order of multiplication and rounding, with the dimension checks hoisted out of the row loop
+     * so the loop body is straight-line arithmetic over primitive arrays.
+     */
+    public void premiums(double[] coverageAmounts, double[] riskScores, double[] premiums, int n) {
+        double[] tierUpper = coverageFactor.length > 0 ? coverageUpper : ONE_BAND_UPPER;
+        double[] tierFactor = coverageFactor.length > 0 ? coverageFactor : ONE_BAND_FACTOR;
+        for (int i = 0; i < n; i++) {
+            double coverage = coverageAmounts[i];
+            double premium = baseRate * coverage * scoreFactor[band(scoreUpper, riskScores[i])]
+                    * tierFactor[band(tierUpper, coverage)];
+            premiums[i] = Math.round(premium * 100.0) / 100.0;
+        }
+    }
+
+    private static double lookup(double[] upper, double[] factor, double value) {
+        return factor[band(upper, value)];
+    }
+
+    /**
+     * Number of bounds below {@code value}, i.e. the index of the first bound at or above it. The
+     * last bound is +Infinity and never counted; NaN counts every other bound and takes the last
+     * band. Each step is the sign of {@code bound - value}, or 1 when that difference is NaN.
+     */
+    static int band(double[] upper, double value) {
+        int band = 0;
+        for (int k = 0; k < upper.length - 1; k++) {
+            long bits = Double.doubleToRawLongBits(upper[k] - value);
+            band += (int) (((bits & SIGN) | (INFINITY_BITS - (bits & ~SIGN))) >>> 63);
+        }
+        return band;
+    }
+}
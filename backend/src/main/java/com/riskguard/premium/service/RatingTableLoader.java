@@ -0,0 +1,120 @@
+package com.riskguard.premium.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.premium.dto.RatingTableConfig;
+import com.riskguard.premium.dto.RatingTableStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+/**
+ * Loads the rating tables file named by {@code riskguard.rating.tables-path} and hot-swaps it into
+ * {@link PremiumService} whenever the file's modification time changes, or on demand. A file that
+ * fails to parse or validate is rejected as a whole and the tables in use stay in place. With no
+ * path configured the built-in tables are used.
+ */
+@Slf4j
+@Service
+public class RatingTableLoader {
+
+    @Value("${riskguard.rating.tables-path:}")
+    private String tablesPath;
+
+    @Autowired
+    private PremiumService premiumService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditService auditService;
+
+    private FileTime loadedModified;
+    private volatile String lastError;
+
+    // A configured file that can't be loaded at startup fails the boot rather than quoting old rates
+    @PostConstruct
+    void loadAtStartup() {
+        if (!tablesPath.isBlank()) {
+            try {
+                reload();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Rating tables in " + tablesPath + " are invalid: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${riskguard.rating.poll-interval-ms:30000}")
+    public void poll() {
+        if (tablesPath.isBlank()) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(tablesPath));
+            if (!modified.equals(loadedModified)) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Already recorded in lastError by reload(), or the file is briefly missing mid-replace
+            log.debug("Rating tables not reloaded: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads, compiles and installs the tables file. Throws {@link IllegalArgumentException} when no
+     * file is configured or it is unreadable or invalid; the current tables are kept in that case.
+     */
+    public synchronized RatingTableStatus reload() {
+        if (tablesPath.isBlank()) {
+            throw new IllegalArgumentException("No rating tables file is configured");
+        }
+        Path path = Path.of(tablesPath);
+        RatingTables next;
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(path);
+            // Remembered even if the file is rejected, so a bad edit is reported once rather than every poll
+            loadedModified = modified;
+            RatingTableConfig config;
+            try (InputStream in = Files.newInputStream(path)) {
+                config = objectMapper.readValue(in, RatingTableConfig.class);
+            }
+            if (config.getVersion() == null || config.getVersion().isBlank()) {
+                config.setVersion(modified.toString());
+            }
+            next = RatingTables.compile(config, path.toString());
+        } catch (IOException | IllegalArgumentException e) {
+            lastError = e.getMessage();
+            log.warn("Rejected rating tables from {}: {}", path, e.getMessage());
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        String previous = premiumService.tables().version();
+        premiumService.install(next);
+        lastError = null;
+        log.info("Rating tables {} loaded from {}, replacing {}", next.version(), path, previous);
+        auditService.log("RELOAD_RATING_TABLES", "RatingTable", null, "system",
+                "version=" + next.version() + ";previous=" + previous + ";source=" + path);
+        return status();
+    }
+
+    public RatingTableStatus status() {
+        RatingTables current = premiumService.tables();
+        return RatingTableStatus.builder()
+                .version(current.version())
+                .source(current.source())
+                .loadedAt(current.loadedAt())
+                .lastError(lastError)
+                .tables(current.config())
+                .build();
+    }
+}
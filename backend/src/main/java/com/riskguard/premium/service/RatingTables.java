@@ -0,0 +1,89 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.premium.dto.RatingTableConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, fully compiled set of rating tables, indexed by {@link Customer.InsuranceType}
+ * ordinal. {@link PremiumService} holds one in a volatile field and a reload swaps in a new
+ * instance, so a quote or batch reads the reference once and prices entirely against one version.
+ */
+public final class RatingTables {
+
+    private static final RatingTables BUILT_IN = compile(RatingTableConfig.builder()
+            .version("built-in")
+            .defaults(RatingTableConfig.Product.builder()
+                    .baseRate(0.005)
+                    .scoreBands(List.of(
+                            new RatingTableConfig.Band(25.0, 0.8),
+                            new RatingTableConfig.Band(50.0, 1.0),
+                            new RatingTableConfig.Band(75.0, 1.3),
+                            new RatingTableConfig.Band(null, 1.7)))
+                    .build())
+            .build(), "built-in");
+
+    private final RatingTableConfig config;
+    private final String source;
+    private final LocalDateTime loadedAt;
+    private final RatingTable defaults;
+    private final RatingTable[] byType;
+
+    private RatingTables(RatingTableConfig config, String source, RatingTable defaults, RatingTable[] byType) {
+        this.config = config;
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+        this.defaults = defaults;
+        this.byType = byType;
+    }
+
+    /** The original 0.5% base rate and four score bands, used until a tables file is loaded. */
+    public static RatingTables builtIn() {
+        return BUILT_IN;
+    }
+
+    /** Compiles every table up front, so an invalid file is rejected before anything is swapped. */
+    public static RatingTables compile(RatingTableConfig config, String source) {
+        if (config == null) {
+            throw new IllegalArgumentException("Rating tables are empty");
+        }
+        RatingTable defaults = RatingTable.compile("defaults", config.getDefaults());
+        Customer.InsuranceType[] types = Customer.InsuranceType.values();
+        RatingTable[] byType = new RatingTable[types.length];
+        Map<Customer.InsuranceType, RatingTableConfig.Product> products =
+                config.getProducts() != null ? config.getProducts() : Map.of();
+        for (Customer.InsuranceType type : types) {
+            RatingTableConfig.Product product = products.get(type);
+            byType[type.ordinal()] = product != null ? RatingTable.compile(type.name(), product) : defaults;
+        }
+        return new RatingTables(config, source, defaults, byType);
+    }
+
+    public RatingTable defaults() {
+        return defaults;
+    }
+
+    /** The product's own table, or the defaults when it has none or the type is null. */
+    public RatingTable forType(Customer.InsuranceType type) {
+        return type != null ? byType[type.ordinal()] : defaults;
+    }
+
+    public String version() {
+        return config.getVersion();
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    public RatingTableConfig config() {
+        return config;
+    }
+}
@@ -0,0 +1,330 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.premium.dto.RatingTableConfig;
+import com.riskguard.premium.dto.RepricingGroup;
+import com.riskguard.premium.dto.RepricingSimulation;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * What-if repricing of the active book under candidate rating tables. Active policies are joined
+ * to their customer and the customer's latest assessment in one streaming query and kept as a
+ * columnar snapshot of primitive arrays, reused until it is older than the configured maximum
+ * age. A simulation splits the snapshot into chunks, prices each chunk under the current and the
+ * candidate tables on a fork-join pool, and merges per-chunk totals by insurance type, risk level
+ * and current-premium band. Nothing is written.
+ */
+@Slf4j
+@Service
+public class RepricingSimulationService {
+
+    private static final int CHUNK_SIZE = 16_384;
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String SNAPSHOT_SQL =
+            "SELECT p.coverage_amount, p.premium_amount, c.insurance_type, c.date_of_birth, a.risk_score, a.risk_level "
+                    + "FROM policies p "
+                    + "LEFT JOIN customers c ON c.customer_id = p.customer_id "
+                    + "LEFT JOIN (SELECT customer_id, MAX(assessment_id) AS assessment_id FROM risk_assessments "
+                    + "GROUP BY customer_id) latest ON latest.customer_id = p.customer_id "
+                    + "LEFT JOIN risk_assessments a ON a.assessment_id = latest.assessment_id "
+                    + "WHERE p.status = 'ACTIVE'";
+
+    @Value("${riskguard.simulation.premium-bands:500,1000,2500,5000,10000}")
+    private String premiumBandsProperty;
+
+    @Value("${riskguard.simulation.snapshot-max-age-seconds:300}")
+    private long snapshotMaxAgeSeconds;
+
+    @Autowired
+    private PremiumService premiumService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final AtomicBoolean running = new AtomicBoolean();
+    private double[] premiumBands;
+    private String[] premiumBandLabels;
+    private volatile Snapshot snapshot;
+
+    /** Column-per-field copy of the priceable active book; row i is one policy. */
+    private record Snapshot(LocalDateTime takenAt, int size, long skipped, double[] coverage, double[] premium,
+                            double[] riskScore, double[] age, byte[] insuranceType, byte[] riskLevel) {
+    }
+
+    @PostConstruct
+    void parseBands() {
+        String[] parts = premiumBandsProperty.split(",");
+        premiumBands = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            premiumBands[i] = Double.parseDouble(parts[i].trim());
+            if (i > 0 && premiumBands[i] <= premiumBands[i - 1]) {
+                throw new IllegalStateException("Simulation premium bands must be increasing");
+            }
+        }
+        premiumBandLabels = new String[parts.length + 1];
+        premiumBandLabels[0] = "<" + parts[0].trim();
+        for (int i = 1; i < parts.length; i++) {
+            premiumBandLabels[i] = parts[i - 1].trim() + "-" + parts[i].trim();
+        }
+        premiumBandLabels[parts.length] = parts[parts.length - 1].trim() + "+";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reprices the active book under {@code candidate}. Throws {@link IllegalArgumentException}
+     * if the tables are invalid. Empty if a simulation is already running.
+     */
+    public Optional<RepricingSimulation> simulate(RatingTableConfig candidate, boolean refresh) {
+        RatingTables proposed = RatingTables.compile(candidate, "simulation");
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            long started = System.nanoTime();
+            Snapshot book = snapshot(refresh);
+            RatingTables current = premiumService.tables();
+            int chunks = (book.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Totals totals = pool.submit(() -> IntStream.range(0, chunks).parallel()
+                            .mapToObj(chunk -> price(book, chunk * CHUNK_SIZE,
+                                    Math.min(book.size(), (chunk + 1) * CHUNK_SIZE), current, proposed))
+                            .reduce(Totals::merge)
+                            .orElseGet(this::newTotals))
+                    .get();
+
+            Customer.InsuranceType[] types = Customer.InsuranceType.values();
+            RiskAssessment.RiskLevel[] levels = RiskAssessment.RiskLevel.values();
+            String[] typeKeys = new String[types.length + 1];
+            String[] levelKeys = new String[levels.length + 1];
+            for (int i = 0; i <= types.length; i++) {
+                typeKeys[i] = i < types.length ? types[i].name() : UNKNOWN;
+            }
+            for (int i = 0; i <= levels.length; i++) {
+                levelKeys[i] = i < levels.length ? levels[i].name() : UNKNOWN;
+            }
+            return Optional.of(RepricingSimulation.builder()
+                    .candidateVersion(proposed.version())
+                    .currentVersion(current.version())
+                    .snapshotTakenAt(book.takenAt())
+                    .policiesRepriced(book.size())
+                    .policiesSkipped(book.skipped())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .total(totals.total.groups(new String[]{"ALL"}).get(0))
+                    .byInsuranceType(totals.byType.groups(typeKeys))
+                    .byRiskLevel(totals.byLevel.groups(levelKeys))
+                    .byPremiumBand(totals.byBand.groups(premiumBandLabels))
+                    .build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Repricing simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Repricing simulation failed", e.getCause());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Totals price(Snapshot book, int from, int to, RatingTables current, RatingTables proposed) {
+        Totals totals = newTotals();
+        Customer.InsuranceType[] types = Customer.InsuranceType.values();
+        int unknownType = types.length;
+        int unknownLevel = RiskAssessment.RiskLevel.values().length;
+        for (int i = from; i < to; i++) {
+            byte type = book.insuranceType()[i];
+            Customer.InsuranceType insuranceType = type >= 0 ? types[type] : null;
+            double charged = book.premium()[i];
+            double now = current.forType(insuranceType).premium(book.coverage()[i], book.riskScore()[i], book.age()[i]);
+            double next = proposed.forType(insuranceType).premium(book.coverage()[i], book.riskScore()[i], book.age()[i]);
+
+            int band = Arrays.binarySearch(premiumBands, charged);
+            // An exact bound opens the next band
+            band = band >= 0 ? band + 1 : -band - 1;
+            totals.total.add(0, charged, now, next);
+            totals.byType.add(type >= 0 ? type : unknownType, charged, now, next);
+            totals.byLevel.add(book.riskLevel()[i] >= 0 ? book.riskLevel()[i] : unknownLevel, charged, now, next);
+            totals.byBand.add(band, charged, now, next);
+        }
+        return totals;
+    }
+
+    private Totals newTotals() {
+        return new Totals(new Group(1), new Group(Customer.InsuranceType.values().length + 1),
+                new Group(RiskAssessment.RiskLevel.values().length + 1), new Group(premiumBands.length + 1));
+    }
+
+    private synchronized Snapshot snapshot(boolean refresh) {
+        Snapshot current = snapshot;
+        if (!refresh && current != null
+                && current.takenAt().plusSeconds(snapshotMaxAgeSeconds).isAfter(LocalDateTime.now())) {
+            return current;
+        }
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        SnapshotBuilder builder = new SnapshotBuilder();
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(1000);
+        streaming.query(SNAPSHOT_SQL, rs -> {
+            double coverage = rs.getDouble(1);
+            boolean hasCoverage = !rs.wasNull();
+            double premium = rs.getDouble(2);
+            boolean hasPremium = !rs.wasNull();
+            String type = rs.getString(3);
+            Date dateOfBirth = rs.getDate(4);
+            double score = rs.getDouble(5);
+            boolean hasScore = !rs.wasNull();
+            String level = rs.getString(6);
+            if (!hasCoverage || !hasPremium || !hasScore) {
+                builder.skipped++;
+                return;
+            }
+            builder.add(coverage, premium, score,
+                    dateOfBirth != null ? Period.between(dateOfBirth.toLocalDate(), today).getYears() : Double.NaN,
+                    type != null ? (byte) Customer.InsuranceType.valueOf(type).ordinal() : -1,
+                    level != null ? (byte) RiskAssessment.RiskLevel.valueOf(level).ordinal() : -1);
+        });
+        snapshot = builder.build();
+        log.info("Repricing snapshot of {} active policies ({} skipped) taken in {} ms",
+                snapshot.size(), snapshot.skipped(), System.currentTimeMillis() - started);
+        return snapshot;
+    }
+
+    private static final class SnapshotBuilder {
+        private int size;
+        private long skipped;
+        private double[] coverage = new double[1024];
+        private double[] premium = new double[1024];
+        private double[] riskScore = new double[1024];
+        private double[] age = new double[1024];
+        private byte[] insuranceType = new byte[1024];
+        private byte[] riskLevel = new byte[1024];
+
+        void add(double coverageAmount, double premiumAmount, double score, double years, byte type, byte level) {
+            if (size == coverage.length) {
+                int grown = size * 2;
+                coverage = Arrays.copyOf(coverage, grown);
+                premium = Arrays.copyOf(premium, grown);
+                riskScore = Arrays.copyOf(riskScore, grown);
+                age = Arrays.copyOf(age, grown);
+                insuranceType = Arrays.copyOf(insuranceType, grown);
+                riskLevel = Arrays.copyOf(riskLevel, grown);
+            }
+            coverage[size] = coverageAmount;
+            premium[size] = premiumAmount;
+            riskScore[size] = score;
+            age[size] = years;
+            insuranceType[size] = type;
+            riskLevel[size] = level;
+            size++;
+        }
+
+        Snapshot build() {
+            return new Snapshot(LocalDateTime.now(), size, skipped, Arrays.copyOf(coverage, size),
+                    Arrays.copyOf(premium, size), Arrays.copyOf(riskScore, size), Arrays.copyOf(age, size),
+                    Arrays.copyOf(insuranceType, size), Arrays.copyOf(riskLevel, size));
+        }
+    }
+
+    private record Totals(Group total, Group byType, Group byLevel, Group byBand) {
+        Totals merge(Totals other) {
+            total.merge(other.total);
+            byType.merge(other.byType);
+            byLevel.merge(other.byLevel);
+            byBand.merge(other.byBand);
+            return this;
+        }
+    }
+
+    /** Running sums for the groups of one dimension, indexed by group. */
+    private static final class Group {
+        private final long[] policies;
+        private final double[] charged;
+        private final double[] currentTables;
+        private final double[] proposed;
+        private final long[] increased;
+        private final long[] decreased;
+
+        Group(int size) {
+            policies = new long[size];
+            charged = new double[size];
+            currentTables = new double[size];
+            proposed = new double[size];
+            increased = new long[size];
+            decreased = new long[size];
+        }
+
+        void add(int group, double chargedPremium, double currentTablesPremium, double proposedPremium) {
+            policies[group]++;
+            charged[group] += chargedPremium;
+            currentTables[group] += currentTablesPremium;
+            proposed[group] += proposedPremium;
+            if (proposedPremium > chargedPremium) {
+                increased[group]++;
+            } else if (proposedPremium < chargedPremium) {
+                decreased[group]++;
+            }
+        }
+
+        void merge(Group other) {
+            for (int i = 0; i < policies.length; i++) {
+                policies[i] += other.policies[i];
+                charged[i] += other.charged[i];
+                currentTables[i] += other.currentTables[i];
+                proposed[i] += other.proposed[i];
+                increased[i] += other.increased[i];
+                decreased[i] += other.decreased[i];
+            }
+        }
+
+        // Empty groups are left out
+        List<RepricingGroup> groups(String[] keys) {
+            List<RepricingGroup> groups = new ArrayList<>();
+            for (int i = 0; i < policies.length; i++) {
+                if (policies[i] == 0 && policies.length > 1) {
+                    continue;
+                }
+                double change = proposed[i] - charged[i];
+                groups.add(RepricingGroup.builder()
+                        .key(keys[i])
+                        .policies(policies[i])
+                        .currentPremium(cents(charged[i]))
+                        .currentTablesPremium(cents(currentTables[i]))
+                        .proposedPremium(cents(proposed[i]))
+                        .change(cents(change))
+                        .changePercent(charged[i] != 0 ? cents(change * 100.0 / charged[i]) : 0.0)
+                        .increased(increased[i])
+                        .decreased(decreased[i])
+                        .build());
+            }
+            return groups;
+        }
+
+        private static double cents(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.common.dedupe.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bloom filter of every payment transaction ID known to the database, used to clear new gateway
+ * events without a lookup. It is loaded from premium_payments in the background after startup;
+ * until that finishes every ID is reported as possibly seen, so callers fall back to the
+ * database. The unique index on transaction_id stays the source of truth.
+ */
+@Slf4j
+@Component
+public class TransactionIdFilter {
+
+    private final BloomFilter filter;
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile boolean warm;
+
+    @Value("${riskguard.streaming.fetch-size:500}")
+    private int fetchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public TransactionIdFilter(@Value("${riskguard.payments.dedupe.expected-transactions:5000000}") long expected,
+                               @Value("${riskguard.payments.dedupe.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.filter = new BloomFilter(expected, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread loader = new Thread(() -> {
+            long started = System.currentTimeMillis();
+            try {
+                JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+                streaming.setFetchSize(fetchSize);
+                streaming.query("SELECT transaction_id FROM premium_payments WHERE transaction_id IS NOT NULL",
+                        rs -> {
+                            record(rs.getString(1));
+                        });
+                warm = true;
+                log.info("Transaction ID filter loaded {} IDs in {} ms", recorded.get(), System.currentTimeMillis() - started);
+            } catch (RuntimeException e) {
+                log.error("Transaction ID filter warm-up failed; webhook dedupe will use the database", e);
+            }
+        }, "transaction-id-filter");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    public void record(String transactionId) {
+        if (transactionId != null) {
+            filter.put(transactionId);
+            recorded.incrementAndGet();
+        }
+    }
+
+    /** False only when the ID has definitely never been recorded. */
+    public boolean mightContain(String transactionId) {
+        return !warm || filter.mightContain(transactionId);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("warm", warm);
+        stats.put("recorded", recorded.get());
+        stats.put("bits", filter.bitCount());
+        stats.put("hashes", filter.hashCount());
+        return stats;
+    }
+}
@@ -0,0 +1,140 @@
+package com.riskguard.premium.service;
+
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.premium.repository.PremiumPaymentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Makes sure premium_payments.transaction_id is backed by a unique index before the payment
+ * webhook accepts events. Schema update only creates the index on a clean table: if duplicate
+ * transaction IDs already exist the DDL fails with a warning and the webhook's INSERT IGNORE
+ * silently inserts more duplicates. At startup this merges each duplicate group into its oldest
+ * row (keeping that row's policy, amount, due date and dunning state, taking status and payment
+ * details from the newest row), deletes the rest and creates the index. Until the index is
+ * confirmed the webhook is refused.
+ */
+@Slf4j
+@Component
+public class TransactionIdIndexMigration {
+
+    static final String INDEX_NAME = "uk_payment_transaction_id";
+
+    private static final String FIND_DUPLICATES =
+            "SELECT transaction_id FROM premium_payments WHERE transaction_id IS NOT NULL "
+                    + "GROUP BY transaction_id HAVING COUNT(*) > 1";
+
+    private static final String MERGE_INTO_OLDEST =
+            "UPDATE premium_payments SET status = ?, payment_method = COALESCE(?, payment_method), "
+                    + "payment_date = COALESCE(?, payment_date), processed_date = COALESCE(?, processed_date) "
+                    + "WHERE payment_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditService auditService;
+
+    // Depends on the repository so the schema update has run before the index is checked
+    @Autowired
+    private PremiumPaymentRepository paymentRepository;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void migrate() {
+        try {
+            if (hasUniqueIndex()) {
+                ready = true;
+                return;
+            }
+            long started = System.currentTimeMillis();
+            int[] merged = mergeDuplicates();
+            jdbcTemplate.execute("CREATE UNIQUE INDEX " + INDEX_NAME + " ON premium_payments (transaction_id)");
+            ready = hasUniqueIndex();
+            log.info("Unique index {} created after merging {} duplicate transaction IDs ({} rows removed) in {} ms",
+                    INDEX_NAME, merged[0], merged[1], System.currentTimeMillis() - started);
+            auditService.log("MIGRATE_SCHEMA", "PremiumPayment", null, "system",
+                    "index=" + INDEX_NAME + ";mergedTransactions=" + merged[0] + ";removedRows=" + merged[1]);
+        } catch (DataAccessException e) {
+            log.error("Unique index {} on premium_payments.transaction_id is missing and could not be created; "
+                    + "the payment webhook is disabled until it exists", INDEX_NAME, e);
+        }
+    }
+
+    /** True once transaction_id is known to be unique, so webhook inserts can rely on the index. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private int[] mergeDuplicates() {
+        List<String> duplicates = jdbcTemplate.queryForList(FIND_DUPLICATES, String.class);
+        int removed = 0;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (String transactionId : duplicates) {
+            Integer deleted = transaction.execute(status -> {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT payment_id, status, payment_method, payment_date, processed_date FROM premium_payments "
+                                + "WHERE transaction_id = ? ORDER BY payment_id", transactionId);
+                Map<String, Object> oldest = rows.get(0);
+                Map<String, Object> newest = rows.get(rows.size() - 1);
+                jdbcTemplate.update(MERGE_INTO_OLDEST, newest.get("status"), newest.get("payment_method"),
+                        newest.get("payment_date"), newest.get("processed_date"), oldest.get("payment_id"));
+                return jdbcTemplate.update("DELETE FROM premium_payments WHERE transaction_id = ? AND payment_id <> ?",
+                        transactionId, oldest.get("payment_id"));
+            });
+            removed += deleted != null ? deleted : 0;
+            log.warn("Merged {} duplicate rows for transaction ID {}", deleted, transactionId);
+        }
+        return new int[]{duplicates.size(), removed};
+    }
+
+    private boolean hasUniqueIndex() {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "PREMIUM_PAYMENTS" : "premium_payments";
+            return uniqueOnTransactionId(metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    table, true, false));
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    // Looks for a unique index whose only column is transaction_id
+    private static boolean uniqueOnTransactionId(ResultSet indexes) throws SQLException {
+        try (indexes) {
+            Map<String, Integer> columnCounts = new HashMap<>();
+            Set<String> onTransactionId = new HashSet<>();
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                String column = indexes.getString("COLUMN_NAME");
+                if (name == null || indexes.getBoolean("NON_UNIQUE")) {
+                    continue;
+                }
+                columnCounts.merge(name, 1, Integer::sum);
+                if ("transaction_id".equalsIgnoreCase(column)) {
+                    onTransactionId.add(name);
+                }
+            }
+            return onTransactionId.stream().anyMatch(name -> columnCounts.get(name) == 1);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.riskguard.riskassessment.controller;
+
+import com.riskguard.riskassessment.dto.RescoringStatus;
+import com.riskguard.riskassessment.service.PortfolioRescoringJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/risk-assessments/rescore")
+public class RescoringController {
+
+    @Autowired
+    private PortfolioRescoringJob rescoringJob;
+
+    @PostMapping
+    public ResponseEntity<RescoringStatus> startRescoring(@RequestParam(defaultValue = "true") boolean resume) {
+        return rescoringJob.start(resume)
+                .map(status -> ResponseEntity.accepted().body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(rescoringJob.status()));
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<RescoringStatus> getStatus() {
+        return ResponseEntity.ok(rescoringJob.status());
+    }
+
+    @PostMapping("/cancel")
+    public ResponseEntity<RescoringStatus> cancelRescoring() {
+        if (rescoringJob.cancel()) {
+            return ResponseEntity.accepted().body(rescoringJob.status());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(rescoringJob.status());
+    }
+}
@@ -1,32 +1,107 @@
 package com.riskguard.riskassessment.controller;
 
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.AssessmentCube;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.riskassessment.dto.ScoreBatchRequest;
+import com.riskguard.riskassessment.dto.ScoreBatchResult;
 import com.riskguard.riskassessment.entity.RiskAssessment;
 import com.riskguard.riskassessment.repository.RiskAssessmentRepository;
+import com.riskguard.riskassessment.service.RiskScoringService;
+import com.riskguard.underwriting.service.UnderwritingQueue;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
+import com.riskguard.common.events.ChangeEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/risk-assessments")
 public class RiskAssessmentController {
 
+    private static final Set<String> SORT_KEYS = Set.of("assessmentDate", "riskScore");
+
     @Autowired
     private RiskAssessmentRepository riskAssessmentRepository;
 
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RiskScoringService riskScoringService;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private UnderwritingQueue underwritingQueue;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private AssessmentCube assessmentCube;
+
     @PostMapping
     public ResponseEntity<RiskAssessment> createAssessment(@RequestBody RiskAssessment assessment) {
+        // The score is always computed server-side; client-supplied values are overwritten
+        Optional<Customer> customer = assessment.getCustomerId() != null
+                ? customerRepository.findById(assessment.getCustomerId()) : Optional.empty();
+        if (customer.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        riskScoringService.apply(customer.get(), assessment, LocalDate.now());
         RiskAssessment saved = riskAssessmentRepository.save(assessment);
+        analyticsCounters.assessmentAdded(saved);
+        underwritingQueue.onAssessmentSaved(saved);
+        // Its ID may be below rows another insert committed first
+        assessmentCube.assessmentsAdded(List.of(saved.getAssessmentId()));
+        changeEventBus.publish(ChangeEventBus.EntityType.ASSESSMENT, ChangeEventBus.Action.CREATED,
+                saved.getAssessmentId(), saved.getCustomerId(), saved);
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/score-batch")
+    public ResponseEntity<ScoreBatchResult> scoreBatch(@RequestBody ScoreBatchRequest request) {
+        if (request.getCustomerIds() == null || request.getCustomerIds().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(riskScoringService.scoreBatch(request.getCustomerIds()));
+    }
+
     @GetMapping
     public ResponseEntity<List<RiskAssessment>> getAllAssessments() {
         return ResponseEntity.ok(riskAssessmentRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<RiskAssessment>> getAssessmentsPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(RiskAssessment.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAssessments() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(RiskAssessment.class, out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RiskAssessment> getAssessmentById(@PathVariable Long id) {
         Optional<RiskAssessment> assessment = riskAssessmentRepository.findById(id);
@@ -51,8 +126,27 @@ public class RiskAssessmentController {
     public ResponseEntity<RiskAssessment> updateAssessment(@PathVariable Long id, @RequestBody RiskAssessment assessment) {
         Optional<RiskAssessment> existing = riskAssessmentRepository.findById(id);
         if (existing.isPresent()) {
+            if (assessment.getCustomerId() == null) {
+                assessment.setCustomerId(existing.get().getCustomerId());
+            }
+            if (assessment.getAssessmentDate() == null) {
+                assessment.setAssessmentDate(existing.get().getAssessmentDate());
+            }
+            // Re-scored like a new assessment, so score, level and result can't be set from outside
+            Optional<Customer> customer = assessment.getCustomerId() != null
+                    ? customerRepository.findById(assessment.getCustomerId()) : Optional.empty();
+            if (customer.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+            riskScoringService.apply(customer.get(), assessment, LocalDate.now());
+            analyticsCounters.assessmentRemoved(existing.get());
             assessment.setAssessmentId(id);
             RiskAssessment updated = riskAssessmentRepository.save(assessment);
+            analyticsCounters.assessmentAdded(updated);
+            underwritingQueue.onAssessmentSaved(updated);
+            assessmentCube.assessmentChanged(id);
+            changeEventBus.publish(ChangeEventBus.EntityType.ASSESSMENT, ChangeEventBus.Action.UPDATED,
+                    updated.getAssessmentId(), updated.getCustomerId(), updated);
             return ResponseEntity.ok(updated);
         }
         return ResponseEntity.notFound().build();
@@ -66,6 +160,10 @@ public class RiskAssessmentController {
             try {
                 assessment.setStatus(RiskAssessment.AssessmentStatus.valueOf(status.toUpperCase()));
                 RiskAssessment updated = riskAssessmentRepository.save(assessment);
+                underwritingQueue.onAssessmentSaved(updated);
+                assessmentCube.assessmentChanged(id);
+                changeEventBus.publish(ChangeEventBus.EntityType.ASSESSMENT, ChangeEventBus.Action.UPDATED,
+                        updated.getAssessmentId(), updated.getCustomerId(), updated);
                 return ResponseEntity.ok(updated);
             } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().build();
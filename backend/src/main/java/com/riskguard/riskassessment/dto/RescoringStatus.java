@@ -0,0 +1,28 @@
+package com.riskguard.riskassessment.dto;
+
+import com.riskguard.riskassessment.entity.RescoringCheckpoint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RescoringStatus {
+    private Long jobId;
+    private RescoringCheckpoint.JobState state;
+    private boolean running;
+    private long processed;
+    private long total;
+    private Long lastCommittedCustomerId;
+    private double percentComplete;
+    private double customersPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,14 @@
+package com.riskguard.riskassessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreBatchRequest {
+    private List<Long> customerIds;
+}
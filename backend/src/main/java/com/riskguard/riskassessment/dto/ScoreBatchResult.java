@@ -0,0 +1,19 @@
+package com.riskguard.riskassessment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreBatchResult {
+    private int requested;
+    private int scored;
+    private List<Long> missingCustomerIds;
+    private long elapsedMillis;
+}
@@ -0,0 +1,39 @@
+package com.riskguard.riskassessment.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "rescoring_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RescoringCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Highest customer ID whose assessment has been committed
+    private Long lastCustomerId;
+    private Long processed;
+    private Long total;
+
+    @Enumerated(EnumType.STRING)
+    private JobState state;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 2000)
+    private String error;
+
+    public enum JobState {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+}
@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "risk_assessments")
+@Table(name = "risk_assessments", indexes = {
+        @Index(name = "idx_assessment_customer", columnList = "customerId"),
+        @Index(name = "idx_assessment_date", columnList = "assessmentDate"),
+        @Index(name = "idx_assessment_risk_score", columnList = "riskScore"),
+        @Index(name = "idx_assessment_status", columnList = "status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,12 @@
+package com.riskguard.riskassessment.repository;
+
+import com.riskguard.riskassessment.entity.RescoringCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RescoringCheckpointRepository extends JpaRepository<RescoringCheckpoint, Long> {
+    Optional<RescoringCheckpoint> findTopByOrderByIdDesc();
+}
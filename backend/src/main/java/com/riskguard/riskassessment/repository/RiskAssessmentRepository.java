@@ -2,8 +2,11 @@ package com.riskguard.riskassessment.repository;
 
 import com.riskguard.riskassessment.entity.RiskAssessment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,16 @@ public interface RiskAssessmentRepository extends JpaRepository<RiskAssessment,
     List<RiskAssessment> findByCustomerId(Long customerId);
     List<RiskAssessment> findByResult(RiskAssessment.AssessmentResult result);
     List<RiskAssessment> findByRiskLevel(RiskAssessment.RiskLevel riskLevel);
+    List<RiskAssessment> findByStatus(RiskAssessment.AssessmentStatus status);
+    List<RiskAssessment> findTop5ByRiskLevelInOrderByRiskScoreDesc(List<RiskAssessment.RiskLevel> riskLevels);
+    List<RiskAssessment> findTop10ByOrderByAssessmentIdDesc();
+
+    // Rows of [riskLevel, count, sum(riskScore)]
+    @Query("SELECT a.riskLevel, COUNT(a), COALESCE(SUM(a.riskScore), 0) FROM RiskAssessment a GROUP BY a.riskLevel")
+    List<Object[]> summarizeByRiskLevel();
+
+    // Rows of [customerId, riskScore] from each customer's most recent assessment
+    @Query("SELECT a.customerId, a.riskScore FROM RiskAssessment a WHERE a.assessmentId IN "
+            + "(SELECT MAX(b.assessmentId) FROM RiskAssessment b WHERE b.customerId IN :customerIds GROUP BY b.customerId)")
+    List<Object[]> findLatestScoresByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -0,0 +1,225 @@
+package com.riskguard.riskassessment.service;
+
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.riskassessment.dto.RescoringStatus;
+import com.riskguard.riskassessment.entity.RescoringCheckpoint;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.riskassessment.repository.RescoringCheckpointRepository;
+import com.riskguard.common.events.ChangeEventBus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rescores every customer after a rule change. Customers are read in primary-key order one
+ * keyset page at a time, scored on a fork-join pool and written with batched inserts. Each page
+ * is committed together with a checkpoint row, so a cancelled or failed run can be resumed from
+ * the last committed customer ID.
+ */
+@Slf4j
+@Service
+public class PortfolioRescoringJob {
+
+    @Value("${riskguard.rescoring.page-size:2000}")
+    private int pageSize;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RescoringCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private RiskScoringService riskScoringService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "portfolio-rescoring");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ForkJoinPool scoringPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private volatile boolean running;
+    private volatile boolean cancelRequested;
+    private volatile RescoringCheckpoint current;
+    // Throughput is measured over this run only, not over resumed progress
+    private volatile long runStartedNanos;
+    private volatile long processedAtRunStart;
+
+    /**
+     * Starts a run. When {@code resume} is set and the latest run did not complete, continues
+     * after its last committed customer; otherwise starts from the first customer.
+     */
+    public synchronized Optional<RescoringStatus> start(boolean resume) {
+        if (running) {
+            return Optional.empty();
+        }
+        RescoringCheckpoint previous = checkpointRepository.findTopByOrderByIdDesc().orElse(null);
+        RescoringCheckpoint checkpoint;
+        if (resume && previous != null && previous.getState() != RescoringCheckpoint.JobState.COMPLETED) {
+            checkpoint = previous;
+            checkpoint.setState(RescoringCheckpoint.JobState.RUNNING);
+            checkpoint.setFinishedAt(null);
+            checkpoint.setError(null);
+        } else {
+            checkpoint = RescoringCheckpoint.builder()
+                    .lastCustomerId(0L)
+                    .processed(0L)
+                    .state(RescoringCheckpoint.JobState.RUNNING)
+                    .startedAt(LocalDateTime.now())
+                    .build();
+        }
+        checkpoint.setTotal(checkpoint.getProcessed() + customerRepository.countByCustomerIdGreaterThan(checkpoint.getLastCustomerId()));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        current = checkpointRepository.save(checkpoint);
+
+        running = true;
+        cancelRequested = false;
+        runStartedNanos = System.nanoTime();
+        processedAtRunStart = current.getProcessed();
+        runner.execute(this::run);
+        return Optional.of(status());
+    }
+
+    public boolean cancel() {
+        if (!running) {
+            return false;
+        }
+        cancelRequested = true;
+        return true;
+    }
+
+    public RescoringStatus status() {
+        RescoringCheckpoint checkpoint = current != null
+                ? current
+                : checkpointRepository.findTopByOrderByIdDesc().orElse(null);
+        if (checkpoint == null) {
+            return RescoringStatus.builder().build();
+        }
+        long processed = checkpoint.getProcessed();
+        long total = checkpoint.getTotal() != null ? checkpoint.getTotal() : 0L;
+        double rate = 0;
+        Long eta = null;
+        if (running) {
+            double seconds = (System.nanoTime() - runStartedNanos) / 1e9;
+            rate = seconds > 0 ? (processed - processedAtRunStart) / seconds : 0;
+            if (rate > 0) {
+                eta = (long) Math.ceil(Math.max(0, total - processed) / rate);
+            }
+        }
+        return RescoringStatus.builder()
+                .jobId(checkpoint.getId())
+                .state(checkpoint.getState())
+                .running(running)
+                .processed(processed)
+                .total(total)
+                .lastCommittedCustomerId(checkpoint.getLastCustomerId())
+                .percentComplete(total > 0 ? Math.min(100.0, processed * 100.0 / total) : 0)
+                .customersPerSecond(Math.round(rate * 10) / 10.0)
+                .etaSeconds(eta)
+                .startedAt(checkpoint.getStartedAt())
+                .finishedAt(checkpoint.getFinishedAt())
+                .error(checkpoint.getError())
+                .build();
+    }
+
+    private void run() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        RescoringCheckpoint checkpoint = current;
+        LocalDate today = LocalDate.now();
+        try {
+            while (!cancelRequested) {
+                List<Customer> page = customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(
+                        checkpoint.getLastCustomerId(), PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                List<RiskAssessment> assessments = scoringPool.submit(() -> page.parallelStream()
+                        .map(customer -> riskScoringService.assess(customer, today))
+                        .toList()).get();
+
+                RescoringCheckpoint next = copy(checkpoint);
+                next.setLastCustomerId(page.get(page.size() - 1).getCustomerId());
+                next.setProcessed(checkpoint.getProcessed() + page.size());
+                next.setTotal(Math.max(checkpoint.getTotal(), next.getProcessed()));
+                next.setUpdatedAt(LocalDateTime.now());
+                checkpoint = tx.execute(status -> {
+                    riskScoringService.insertAll(assessments);
+                    return checkpointRepository.save(next);
+                });
+                current = checkpoint;
+                assessments.forEach(analyticsCounters::assessmentAdded);
+                changeEventBus.publishBulk(ChangeEventBus.EntityType.ASSESSMENT, assessments.size());
+            }
+            finish(checkpoint, cancelRequested ? RescoringCheckpoint.JobState.CANCELLED : RescoringCheckpoint.JobState.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("Portfolio rescoring failed after customer {}", checkpoint.getLastCustomerId(), e);
+            finish(checkpoint, RescoringCheckpoint.JobState.FAILED, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void finish(RescoringCheckpoint checkpoint, RescoringCheckpoint.JobState state, String error) {
+        RescoringCheckpoint last = copy(checkpoint);
+        last.setState(state);
+        last.setError(error);
+        last.setUpdatedAt(LocalDateTime.now());
+        last.setFinishedAt(LocalDateTime.now());
+        try {
+            current = checkpointRepository.save(last);
+        } catch (Exception e) {
+            log.error("Could not record rescoring checkpoint state {}", state, e);
+            current = last;
+        }
+        long seconds = Math.max(1, Duration.ofNanos(System.nanoTime() - runStartedNanos).toSeconds());
+        log.info("Portfolio rescoring {}: {} customers, last id {}, {}s", state, last.getProcessed(), last.getLastCustomerId(), seconds);
+        running = false;
+    }
+
+    private static RescoringCheckpoint copy(RescoringCheckpoint c) {
+        return RescoringCheckpoint.builder()
+                .id(c.getId())
+                .lastCustomerId(c.getLastCustomerId())
+                .processed(c.getProcessed())
+                .total(c.getTotal())
+                .state(c.getState())
+                .startedAt(c.getStartedAt())
+                .updatedAt(c.getUpdatedAt())
+                .finishedAt(c.getFinishedAt())
+                .error(c.getError())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        cancelRequested = true;
+        runner.shutdown();
+        runner.awaitTermination(30, TimeUnit.SECONDS);
+        scoringPool.shutdown();
+    }
+}
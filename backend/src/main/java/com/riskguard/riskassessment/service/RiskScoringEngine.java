@@ -0,0 +1,186 @@
+package com.riskguard.riskassessment.service;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-side port of the rules in the risk assessment page. The rule tables are built once
+ * at construction so that {@link #evaluate(Customer, int)} only does array lookups and returns
+ * the score and the matched factors packed into a single int.
+ */
+@Component
+public class RiskScoringEngine {
+
+    private static final int BASE_SCORE = 50;
+
+    // Factor bits, in the order they are reported
+    public static final int YOUNG_AGE = 1;
+    public static final int RELATIVELY_YOUNG_AGE = 1 << 1;
+    public static final int SENIOR_AGE = 1 << 2;
+    public static final int MOTOR_INSURANCE = 1 << 3;
+    public static final int HEALTH_INSURANCE = 1 << 4;
+    public static final int LIFE_INSURANCE = 1 << 5;
+    public static final int DOCUMENTS_NOT_VERIFIED = 1 << 6;
+    public static final int DOCUMENTS_VERIFIED = 1 << 7;
+    public static final int INCOMPLETE_CONTACT = 1 << 8;
+    public static final int COMPLETE_CONTACT = 1 << 9;
+
+    private static final String[] FACTOR_LABELS = {
+            "Young age (< 25 years)",
+            "Relatively young age (25-35 years)",
+            "Senior age (> 65 years)",
+            "Motor insurance (higher risk category)",
+            "Health insurance",
+            "Life insurance",
+            "Documents not verified",
+            "Documents verified (lower risk)",
+            "Incomplete contact information",
+            "Complete contact information"
+    };
+
+    private static final int FACTOR_SHIFT = 16;
+    private static final int SCORE_MASK = 0xFFFF;
+
+    // Indexed by age in years, clamped to [0, MAX_AGE]
+    private static final int MAX_AGE = 130;
+    private final int[] ageDelta = new int[MAX_AGE + 1];
+    private final int[] ageFactor = new int[MAX_AGE + 1];
+
+    // Indexed by InsuranceType ordinal
+    private final int[] insuranceTypeDelta;
+    private final int[] insuranceTypeFactor;
+
+    // Indexed by contact completeness score (0..4)
+    private final int[] contactDelta = {15, 15, 0, 0, -10};
+    private final int[] contactFactor = {INCOMPLETE_CONTACT, INCOMPLETE_CONTACT, 0, 0, COMPLETE_CONTACT};
+
+    // Indexed by score (0..100)
+    private final RiskAssessment.RiskLevel[] levelByScore = new RiskAssessment.RiskLevel[101];
+    private final RiskAssessment.AssessmentResult[] resultByScore = new RiskAssessment.AssessmentResult[101];
+
+    public RiskScoringEngine() {
+        for (int age = 0; age <= MAX_AGE; age++) {
+            if (age < 25) {
+                ageDelta[age] = 20;
+                ageFactor[age] = YOUNG_AGE;
+            } else if (age < 35) {
+                ageDelta[age] = 10;
+                ageFactor[age] = RELATIVELY_YOUNG_AGE;
+            } else if (age > 65) {
+                ageDelta[age] = 15;
+                ageFactor[age] = SENIOR_AGE;
+            }
+        }
+
+        Customer.InsuranceType[] types = Customer.InsuranceType.values();
+        insuranceTypeDelta = new int[types.length];
+        insuranceTypeFactor = new int[types.length];
+        for (Customer.InsuranceType type : types) {
+            switch (type) {
+                case MOTOR -> {
+                    insuranceTypeDelta[type.ordinal()] = 15;
+                    insuranceTypeFactor[type.ordinal()] = MOTOR_INSURANCE;
+                }
+                case HEALTH -> {
+                    insuranceTypeDelta[type.ordinal()] = 5;
+                    insuranceTypeFactor[type.ordinal()] = HEALTH_INSURANCE;
+                }
+                case LIFE -> {
+                    insuranceTypeDelta[type.ordinal()] = 10;
+                    insuranceTypeFactor[type.ordinal()] = LIFE_INSURANCE;
+                }
+            }
+        }
+
+        for (int score = 0; score <= 100; score++) {
+            if (score <= 25) {
+                levelByScore[score] = RiskAssessment.RiskLevel.LOW;
+                resultByScore[score] = RiskAssessment.AssessmentResult.APPROVED;
+            } else if (score <= 50) {
+                levelByScore[score] = RiskAssessment.RiskLevel.MEDIUM;
+                resultByScore[score] = RiskAssessment.AssessmentResult.APPROVED;
+            } else if (score <= 75) {
+                levelByScore[score] = RiskAssessment.RiskLevel.HIGH;
+                resultByScore[score] = RiskAssessment.AssessmentResult.REVIEW_REQUIRED;
+            } else {
+                levelByScore[score] = RiskAssessment.RiskLevel.CRITICAL;
+                resultByScore[score] = RiskAssessment.AssessmentResult.DECLINED;
+            }
+        }
+    }
+
+    /**
+     * Scores a customer. Age is computed as calendar years against {@code currentYear}, the same
+     * way the UI does it. Use {@link #scoreOf(int)} and {@link #factorsOf(int)} to unpack.
+     */
+    public int evaluate(Customer customer, int currentYear) {
+        int score = BASE_SCORE;
+        int factors = 0;
+
+        LocalDate dob = customer.getDateOfBirth();
+        if (dob != null) {
+            int age = Math.max(0, Math.min(MAX_AGE, currentYear - dob.getYear()));
+            score += ageDelta[age];
+            factors |= ageFactor[age];
+        }
+
+        Customer.InsuranceType type = customer.getInsuranceType();
+        if (type != null) {
+            score += insuranceTypeDelta[type.ordinal()];
+            factors |= insuranceTypeFactor[type.ordinal()];
+        }
+
+        if (Boolean.TRUE.equals(customer.getDocumentVerified())) {
+            score -= 5;
+            factors |= DOCUMENTS_VERIFIED;
+        } else {
+            score += 20;
+            factors |= DOCUMENTS_NOT_VERIFIED;
+        }
+
+        int contact = 0;
+        if (hasText(customer.getEmail())) contact++;
+        if (hasText(customer.getPhone())) contact++;
+        if (hasText(customer.getAddress()) && hasText(customer.getCity()) && hasText(customer.getState())) contact += 2;
+        score += contactDelta[contact];
+        factors |= contactFactor[contact];
+
+        score = Math.max(0, Math.min(100, score));
+        return (factors << FACTOR_SHIFT) | score;
+    }
+
+    public static int scoreOf(int evaluation) {
+        return evaluation & SCORE_MASK;
+    }
+
+    public static int factorsOf(int evaluation) {
+        return evaluation >>> FACTOR_SHIFT;
+    }
+
+    public RiskAssessment.RiskLevel riskLevel(int score) {
+        return levelByScore[score];
+    }
+
+    public RiskAssessment.AssessmentResult result(int score) {
+        return resultByScore[score];
+    }
+
+    public List<String> factorLabels(int factors) {
+        List<String> labels = new ArrayList<>(4);
+        for (int bit = 0; bit < FACTOR_LABELS.length; bit++) {
+            if ((factors & (1 << bit)) != 0) {
+                labels.add(FACTOR_LABELS[bit]);
+            }
+        }
+        return labels;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
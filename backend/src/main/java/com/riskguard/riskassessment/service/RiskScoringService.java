@@ -0,0 +1,163 @@
+package com.riskguard.riskassessment.service;
+
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.AssessmentCube;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.riskassessment.dto.ScoreBatchResult;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.common.events.ChangeEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+public class RiskScoringService {
+
+    // Customers are loaded and assessments written in chunks of this size
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_ASSESSMENT =
+            "INSERT INTO risk_assessments (customer_id, risk_score, risk_level, rules_applied, explanation, result, "
+                    + "flagged_for_manual_review, assessment_date, updated_date, status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private RiskScoringEngine engine;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private AssessmentCube assessmentCube;
+
+    /**
+     * Builds an assessment for the customer from the server-side rules, ignoring anything the
+     * caller supplied for the score, level, result or explanation.
+     */
+    public RiskAssessment assess(Customer customer, LocalDate today) {
+        RiskAssessment assessment = new RiskAssessment();
+        assessment.setCustomerId(customer.getCustomerId());
+        apply(customer, assessment, today);
+        return assessment;
+    }
+
+    public void apply(Customer customer, RiskAssessment assessment, LocalDate today) {
+        int evaluation = engine.evaluate(customer, today.getYear());
+        int score = RiskScoringEngine.scoreOf(evaluation);
+        List<String> factors = engine.factorLabels(RiskScoringEngine.factorsOf(evaluation));
+        RiskAssessment.AssessmentResult result = engine.result(score);
+
+        assessment.setRiskScore((double) score);
+        assessment.setRiskLevel(engine.riskLevel(score));
+        assessment.setResult(result);
+        assessment.setRulesApplied(String.join("; ", factors));
+        assessment.setExplanation("Risk assessment based on customer profile analysis. Factors considered: "
+                + String.join(", ", factors));
+        assessment.setFlaggedForManualReview(result == RiskAssessment.AssessmentResult.REVIEW_REQUIRED);
+        if (assessment.getAssessmentDate() == null) {
+            assessment.setAssessmentDate(today);
+        }
+        assessment.setUpdatedDate(today);
+        if (assessment.getStatus() == null) {
+            assessment.setStatus(RiskAssessment.AssessmentStatus.PENDING);
+        }
+    }
+
+    @Transactional
+    public ScoreBatchResult scoreBatch(List<Long> customerIds) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        // De-duplicate while keeping request order
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(customerIds));
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        int scored = 0;
+
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            List<Customer> customers = customerRepository.findAllById(chunk);
+            List<RiskAssessment> assessments = new ArrayList<>(customers.size());
+            for (Customer customer : customers) {
+                missing.remove(customer.getCustomerId());
+                assessments.add(assess(customer, today));
+            }
+            insertAll(assessments);
+            assessments.forEach(analyticsCounters::assessmentAdded);
+            scored += assessments.size();
+        }
+        changeEventBus.publishBulk(ChangeEventBus.EntityType.ASSESSMENT, scored);
+
+        return ScoreBatchResult.builder()
+                .requested(ids.size())
+                .scored(scored)
+                .missingCustomerIds(new ArrayList<>(missing))
+                .elapsedMillis(System.currentTimeMillis() - started)
+                .build();
+    }
+
+    /**
+     * Batch-inserts the assessments, setting their generated IDs, and tells the analytics cube
+     * about them once the caller's transaction commits: a long batch can commit IDs below ones
+     * the cube has already loaded.
+     */
+    public void insertAll(List<RiskAssessment> assessments) {
+        if (assessments.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ASSESSMENT, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < assessments.size(); from += CHUNK_SIZE) {
+                    List<RiskAssessment> chunk = assessments.subList(from, Math.min(from + CHUNK_SIZE, assessments.size()));
+                    for (RiskAssessment a : chunk) {
+                        ps.setLong(1, a.getCustomerId());
+                        ps.setDouble(2, a.getRiskScore());
+                        ps.setString(3, a.getRiskLevel().name());
+                        ps.setString(4, a.getRulesApplied());
+                        ps.setString(5, a.getExplanation());
+                        ps.setString(6, a.getResult().name());
+                        ps.setBoolean(7, Boolean.TRUE.equals(a.getFlaggedForManualReview()));
+                        ps.setDate(8, Date.valueOf(a.getAssessmentDate()));
+                        ps.setDate(9, Date.valueOf(a.getUpdatedDate()));
+                        ps.setString(10, a.getStatus().name());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (RiskAssessment a : chunk) {
+                            if (!keys.next()) {
+                                break;
+                            }
+                            a.setAssessmentId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+        assessmentCube.assessmentsAdded(assessments.stream()
+                .map(RiskAssessment::getAssessmentId).filter(Objects::nonNull).toList());
+    }
+}
@@ -1,28 +1,86 @@
 package com.riskguard.underwriting.controller;
 
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.analytics.service.FraudSignalService;
+import com.riskguard.premium.service.InstallmentScheduleService;
+import com.riskguard.underwriting.dto.PolicyLifecycleSummary;
 import com.riskguard.underwriting.entity.Policy;
 import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.underwriting.service.PolicyLifecycleService;
+import com.riskguard.underwriting.service.PolicyLookupService;
 import com.riskguard.audit.service.AuditService;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
+import com.riskguard.common.events.ChangeEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/policies")
 public class PolicyController {
 
+    private static final Set<String> SORT_KEYS = Set.of("startDate", "endDate");
+
     @Autowired
     private PolicyRepository policyRepository;
 
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private FraudSignalService fraudSignalService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private PolicyLookupService policyLookupService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private PolicyLifecycleService policyLifecycleService;
+
+    @Autowired
+    private InstallmentScheduleService installmentScheduleService;
+
     @PostMapping
-    public ResponseEntity<Policy> createPolicy(@RequestBody Policy policy) {
-        Policy saved = policyRepository.save(policy);
+    public ResponseEntity<Policy> createPolicy(@RequestBody Policy policy,
+                                               @RequestParam(required = false) String installments) {
+        // Opt-in schedule: MONTHLY, QUARTERLY or ANNUAL generates UNPAID installments with the policy;
+        // without it (or with NONE) payments are recorded separately
+        InstallmentScheduleService.Frequency frequency = null;
+        if (installments != null && !installments.equalsIgnoreCase("NONE")) {
+            try {
+                frequency = InstallmentScheduleService.Frequency.valueOf(installments.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (policy.getIssueDate() == null) {
+            policy.setIssueDate(LocalDate.now());
+        }
+        Policy saved = frequency != null
+                ? installmentScheduleService.saveWithSchedule(policy, frequency)
+                : policyRepository.save(policy);
+        analyticsCounters.policyAdded();
+        fraudSignalService.policyAdded(saved);
+        changeEventBus.publish(ChangeEventBus.EntityType.POLICY, ChangeEventBus.Action.CREATED,
+                saved.getPolicyId(), saved.getCustomerId(), saved);
         auditService.log(
                 "CREATE_POLICY",
                 "Policy",
@@ -39,9 +97,54 @@ public class PolicyController {
         return ResponseEntity.ok(policyRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Policy>> getPoliciesPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(Policy.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamPolicies() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(Policy.class, out));
+    }
+
+    @GetMapping(value = "/renewals", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamRenewals(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        int window = days != null ? days : policyLifecycleService.renewalWindowDays();
+        if (window < 0 || window > 366) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate from = asOf != null ? asOf : LocalDate.now();
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> policyLifecycleService.writeRenewals(from, window, out));
+    }
+
+    @GetMapping("/lifecycle")
+    public ResponseEntity<PolicyLifecycleSummary> getLastLifecycleRun() {
+        return policyLifecycleService.lastRun()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/lifecycle/run")
+    public ResponseEntity<PolicyLifecycleSummary> runLifecycle(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return policyLifecycleService.run(asOf != null ? asOf : LocalDate.now())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Policy> getPolicyById(@PathVariable Long id) {
-        Optional<Policy> policy = policyRepository.findById(id);
+        Optional<Policy> policy = policyLookupService.findById(id);
         return policy.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -54,7 +157,7 @@ public class PolicyController {
 
     @GetMapping("/number/{policyNumber}")
     public ResponseEntity<Policy> getPolicyByNumber(@PathVariable String policyNumber) {
-        Optional<Policy> policy = policyRepository.findByPolicyNumber(policyNumber);
+        Optional<Policy> policy = policyLookupService.findByPolicyNumber(policyNumber);
         return policy.map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -63,8 +166,19 @@ public class PolicyController {
     public ResponseEntity<Policy> updatePolicy(@PathVariable Long id, @RequestBody Policy policy) {
         Optional<Policy> existing = policyRepository.findById(id);
         if (existing.isPresent()) {
+            policyLookupService.evict(existing.get());
+            fraudSignalService.policyRemoved(existing.get());
             policy.setPolicyId(id);
+            if (policy.getIssueDate() == null) {
+                policy.setIssueDate(existing.get().getIssueDate());
+            }
+            // Also the cancellation date for the early-cancellation fraud signal
+            policy.setLastModifiedDate(LocalDate.now());
             Policy updated = policyRepository.save(policy);
+            policyLookupService.evict(updated);
+            fraudSignalService.policyAdded(updated);
+            changeEventBus.publish(ChangeEventBus.EntityType.POLICY, ChangeEventBus.Action.UPDATED,
+                    updated.getPolicyId(), updated.getCustomerId(), updated);
             auditService.log(
                     "UPDATE_POLICY",
                     "Policy",
@@ -80,8 +194,14 @@ public class PolicyController {
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePolicy(@PathVariable Long id) {
-        if (policyRepository.existsById(id)) {
+        Optional<Policy> existing = policyRepository.findById(id);
+        if (existing.isPresent()) {
+            policyLookupService.evict(existing.get());
             policyRepository.deleteById(id);
+            analyticsCounters.policyRemoved();
+            fraudSignalService.policyRemoved(existing.get());
+            changeEventBus.publish(ChangeEventBus.EntityType.POLICY, ChangeEventBus.Action.DELETED,
+                    id, existing.get().getCustomerId(), existing.get());
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
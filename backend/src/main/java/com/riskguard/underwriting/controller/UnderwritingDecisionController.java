@@ -1,26 +1,54 @@
 package com.riskguard.underwriting.controller;
 
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.underwriting.dto.BulkDecisionRequest;
+import com.riskguard.underwriting.dto.BulkDecisionResult;
 import com.riskguard.underwriting.entity.UnderwritingDecision;
 import com.riskguard.underwriting.repository.UnderwritingDecisionRepository;
+import com.riskguard.underwriting.service.BulkDecisionService;
+import com.riskguard.underwriting.service.UnderwritingQueue;
 import com.riskguard.audit.service.AuditService;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
+import com.riskguard.common.events.ChangeEventBus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/underwriting-decisions")
 public class UnderwritingDecisionController {
 
+    private static final Set<String> SORT_KEYS = Set.of("sentToUnderwritingDate", "decisionDate");
+
     @Autowired
     private UnderwritingDecisionRepository decisionRepository;
 
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private UnderwritingQueue underwritingQueue;
+
+    @Autowired
+    private BulkDecisionService bulkDecisionService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
     @PostMapping
     public ResponseEntity<UnderwritingDecision> createDecision(@RequestBody UnderwritingDecision decision) {
         // Set sent to underwriting date and time
@@ -28,6 +56,10 @@ public class UnderwritingDecisionController {
             decision.setSentToUnderwritingDate(LocalDateTime.now());
         }
         UnderwritingDecision saved = decisionRepository.save(decision);
+        analyticsCounters.decisionAdded(saved);
+        underwritingQueue.onDecisionSaved(saved);
+        changeEventBus.publish(ChangeEventBus.EntityType.DECISION, ChangeEventBus.Action.CREATED,
+                saved.getDecisionId(), saved.getCustomerId(), saved);
         auditService.log(
                 "CREATE_DECISION",
                 "UnderwritingDecision",
@@ -38,11 +70,36 @@ public class UnderwritingDecisionController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkDecisionResult> applyBulkDecision(@RequestBody BulkDecisionRequest request) {
+        try {
+            return ResponseEntity.ok(bulkDecisionService.apply(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<UnderwritingDecision>> getAllDecisions() {
         return ResponseEntity.ok(decisionRepository.findAll());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<UnderwritingDecision>> getDecisionsPage(CursorRequest request) {
+        try {
+            return ResponseEntity.ok(keysetPager.page(UnderwritingDecision.class, SORT_KEYS, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDecisions() {
+        return ResponseEntity.ok()
+                .contentType(KeysetPager.NDJSON)
+                .body(out -> keysetPager.stream(UnderwritingDecision.class, out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UnderwritingDecision> getDecisionById(@PathVariable Long id) {
         Optional<UnderwritingDecision> decision = decisionRepository.findById(id);
@@ -67,8 +124,13 @@ public class UnderwritingDecisionController {
     public ResponseEntity<UnderwritingDecision> updateDecision(@PathVariable Long id, @RequestBody UnderwritingDecision decision) {
         Optional<UnderwritingDecision> existing = decisionRepository.findById(id);
         if (existing.isPresent()) {
+            analyticsCounters.decisionRemoved(existing.get());
             decision.setDecisionId(id);
             UnderwritingDecision updated = decisionRepository.save(decision);
+            analyticsCounters.decisionAdded(updated);
+            underwritingQueue.onDecisionSaved(updated);
+            changeEventBus.publish(ChangeEventBus.EntityType.DECISION, ChangeEventBus.Action.UPDATED,
+                    updated.getDecisionId(), updated.getCustomerId(), updated);
             auditService.log(
                     "UPDATE_DECISION",
                     "UnderwritingDecision",
@@ -95,6 +157,10 @@ public class UnderwritingDecisionController {
                     "Deleted decision for customer=" + decision.getCustomerId()
             );
             decisionRepository.deleteById(id);
+            analyticsCounters.decisionRemoved(decision);
+            underwritingQueue.onDecisionDeleted(decision);
+            changeEventBus.publish(ChangeEventBus.EntityType.DECISION, ChangeEventBus.Action.DELETED,
+                    id, decision.getCustomerId(), decision);
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,58 @@
+package com.riskguard.underwriting.controller;
+
+import com.riskguard.underwriting.dto.QueueItem;
+import com.riskguard.underwriting.dto.QueueStats;
+import com.riskguard.underwriting.service.UnderwritingQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/underwriting-queue")
+public class UnderwritingQueueController {
+
+    private static final int MAX_BATCH = 50;
+
+    @Autowired
+    private UnderwritingQueue underwritingQueue;
+
+    @GetMapping
+    public ResponseEntity<List<QueueItem>> peek(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(underwritingQueue.peek(Math.max(1, Math.min(limit, 500))));
+    }
+
+    @PostMapping("/claim")
+    public ResponseEntity<List<QueueItem>> claim(@RequestParam String underwriter,
+                                                 @RequestParam(defaultValue = "1") int max) {
+        if (underwriter.isBlank() || max < 1 || max > MAX_BATCH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(underwritingQueue.claim(underwriter, max));
+    }
+
+    @PostMapping("/{assessmentId}/release")
+    public ResponseEntity<QueueItem> release(@PathVariable Long assessmentId, @RequestParam String underwriter) {
+        return underwritingQueue.release(assessmentId, underwriter)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @GetMapping("/claimed")
+    public ResponseEntity<List<QueueItem>> claimed(@RequestParam String underwriter) {
+        return ResponseEntity.ok(underwritingQueue.claimedBy(underwriter));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<QueueStats> stats() {
+        return ResponseEntity.ok(underwritingQueue.stats());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<QueueStats> rebuild() {
+        underwritingQueue.rebuild();
+        return ResponseEntity.ok(underwritingQueue.stats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.riskguard.underwriting.dto;
+
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDecisionOutcome {
+    private Long decisionId;
+    private Outcome outcome;
+    private UnderwritingDecision.DecisionStatus previousStatus;
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, ALREADY_DECIDED
+    }
+}
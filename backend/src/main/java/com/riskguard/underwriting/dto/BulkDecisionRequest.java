@@ -0,0 +1,22 @@
+package com.riskguard.underwriting.dto;
+
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDecisionRequest {
+    private List<Long> decisionIds;
+    private UnderwritingDecision.DecisionStatus status;
+    private String reason;
+    // Left unchanged on each decision when null
+    private String underwriterNotes;
+    private String decidedBy;
+}
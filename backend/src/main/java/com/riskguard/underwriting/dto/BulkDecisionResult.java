@@ -0,0 +1,19 @@
+package com.riskguard.underwriting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDecisionResult {
+    private int requested;
+    private int updated;
+    private List<BulkDecisionOutcome> outcomes;
+    private long elapsedMillis;
+}
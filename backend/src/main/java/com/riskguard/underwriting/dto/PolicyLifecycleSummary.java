@@ -0,0 +1,22 @@
+package com.riskguard.underwriting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyLifecycleSummary {
+    private LocalDate asOf;
+    private LocalDateTime startedAt;
+    private long elapsedMillis;
+    private long expired;
+    private int renewalWindowDays;
+    private long renewalsDue;
+}
@@ -0,0 +1,24 @@
+package com.riskguard.underwriting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueItem {
+    private Long assessmentId;
+    private Long customerId;
+    // Null until the PENDING decision for the assessment has been created
+    private Long decisionId;
+    private Double riskScore;
+    private LocalDateTime sentToUnderwritingDate;
+    private double priority;
+    private String claimedBy;
+    private LocalDateTime claimExpiresAt;
+}
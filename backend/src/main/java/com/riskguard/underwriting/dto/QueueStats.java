@@ -0,0 +1,19 @@
+package com.riskguard.underwriting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueStats {
+    private int waiting;
+    private int claimed;
+    private LocalDateTime oldestWaitingSince;
+    private LocalDateTime rebuiltAt;
+}
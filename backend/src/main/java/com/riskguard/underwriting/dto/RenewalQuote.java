@@ -0,0 +1,25 @@
+package com.riskguard.underwriting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RenewalQuote {
+    private Long policyId;
+    private String policyNumber;
+    private Long customerId;
+    private LocalDate endDate;
+    private BigDecimal coverageAmount;
+    private BigDecimal currentPremium;
+    // Latest assessment score for the customer; null (and no renewal premium) when never assessed
+    private Double riskScore;
+    private BigDecimal renewalPremium;
+}
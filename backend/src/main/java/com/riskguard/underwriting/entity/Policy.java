@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = {
+        @Index(name = "idx_policy_customer", columnList = "customerId"),
+        @Index(name = "idx_policy_start_date", columnList = "startDate"),
+        @Index(name = "idx_policy_end_date", columnList = "endDate"),
+        @Index(name = "idx_policy_status_end_date", columnList = "status, endDate"),
+        @Index(name = "idx_policy_issue_date", columnList = "issueDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -9,7 +9,12 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "underwriting_decisions")
+@Table(name = "underwriting_decisions", indexes = {
+        @Index(name = "idx_decision_customer", columnList = "customerId"),
+        @Index(name = "idx_decision_assessment", columnList = "assessmentId"),
+        @Index(name = "idx_decision_sent_date", columnList = "sentToUnderwritingDate"),
+        @Index(name = "idx_decision_date", columnList = "decisionDate")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,9 +1,16 @@
 package com.riskguard.underwriting.repository;
 
 import com.riskguard.underwriting.entity.Policy;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +19,41 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     List<Policy> findByCustomerId(Long customerId);
     Optional<Policy> findByPolicyNumber(String policyNumber);
     List<Policy> findByStatus(Policy.PolicyStatus status);
+    long countByStatusAndEndDateBetween(Policy.PolicyStatus status, LocalDate from, LocalDate to);
+
+    @Query("SELECT MIN(p.endDate) FROM Policy p WHERE p.status = :status AND p.endDate < :before")
+    LocalDate findEarliestEndDate(@Param("status") Policy.PolicyStatus status, @Param("before") LocalDate before);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Policy p SET p.status = :to, p.lastModifiedDate = :today "
+            + "WHERE p.status = :from AND p.endDate >= :start AND p.endDate < :end")
+    int transitionEndingBetween(@Param("from") Policy.PolicyStatus from,
+                                @Param("to") Policy.PolicyStatus to,
+                                @Param("start") LocalDate start,
+                                @Param("end") LocalDate end,
+                                @Param("today") LocalDate today);
+
+    // Row locks on the given policies, held until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Policy p WHERE p.policyId IN :ids")
+    List<Policy> lockAllById(@Param("ids") List<Long> ids);
+
+    // Policies issued in [from, to] with no premium payments yet, in ID order after afterId
+    @Query("SELECT p FROM Policy p WHERE p.issueDate BETWEEN :from AND :to AND p.policyId > :afterId "
+            + "AND NOT EXISTS (SELECT 1 FROM PremiumPayment pp WHERE pp.policyId = p.policyId) ORDER BY p.policyId")
+    List<Policy> findUnscheduledIssuedBetween(@Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // One keyset page of policies ending in [from, until], after (lastEnd, lastId)
+    @Query("SELECT p FROM Policy p WHERE p.status = :status AND p.endDate BETWEEN :from AND :until "
+            + "AND (p.endDate > :lastEnd OR (p.endDate = :lastEnd AND p.policyId > :lastId)) "
+            + "ORDER BY p.endDate, p.policyId")
+    List<Policy> findRenewalPage(@Param("status") Policy.PolicyStatus status,
+                                 @Param("from") LocalDate from,
+                                 @Param("until") LocalDate until,
+                                 @Param("lastEnd") LocalDate lastEnd,
+                                 @Param("lastId") Long lastId,
+                                 Pageable pageable);
 }
@@ -1,13 +1,42 @@
 package com.riskguard.underwriting.repository;
 
 import com.riskguard.underwriting.entity.UnderwritingDecision;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface UnderwritingDecisionRepository extends JpaRepository<UnderwritingDecision, Long> {
     List<UnderwritingDecision> findByCustomerId(Long customerId);
     List<UnderwritingDecision> findByStatus(UnderwritingDecision.DecisionStatus status);
+    List<UnderwritingDecision> findByAssessmentIdIn(Collection<Long> assessmentIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM UnderwritingDecision d WHERE d.decisionId IN :ids")
+    List<UnderwritingDecision> findAndLockByDecisionIdIn(@Param("ids") Collection<Long> ids);
+
+    // Set-based status change for bulk decisions; notes are kept when none are given
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE UnderwritingDecision d SET d.status = :status, d.reason = :reason, "
+            + "d.underwriterNotes = COALESCE(CAST(:notes AS String), d.underwriterNotes), d.decidedBy = :decidedBy, "
+            + "d.decisionDate = :decisionDate, d.approvalDate = :approvalDate WHERE d.decisionId IN :ids")
+    int applyDecision(@Param("ids") Collection<Long> ids,
+                      @Param("status") UnderwritingDecision.DecisionStatus status,
+                      @Param("reason") String reason,
+                      @Param("notes") String notes,
+                      @Param("decidedBy") String decidedBy,
+                      @Param("decisionDate") LocalDate decisionDate,
+                      @Param("approvalDate") LocalDate approvalDate);
+
+    // Rows of [status, count]
+    @Query("SELECT d.status, COUNT(d) FROM UnderwritingDecision d GROUP BY d.status")
+    List<Object[]> countByStatusGrouped();
 }
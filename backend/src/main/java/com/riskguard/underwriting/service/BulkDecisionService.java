@@ -0,0 +1,170 @@
+package com.riskguard.underwriting.service;
+
+import com.riskguard.analytics.service.AnalyticsCounters;
+import com.riskguard.audit.entity.AuditLog;
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.underwriting.dto.BulkDecisionOutcome;
+import com.riskguard.underwriting.dto.BulkDecisionRequest;
+import com.riskguard.underwriting.dto.BulkDecisionResult;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import com.riskguard.underwriting.repository.UnderwritingDecisionRepository;
+import com.riskguard.common.events.ChangeEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies one status change to many decisions in a single transaction. The rows are read and
+ * locked with one SELECT per chunk, changed with one set-based UPDATE per chunk and audited with
+ * one batched write, so the round trips no longer grow with the number of decisions. Only open
+ * (PENDING or ON_HOLD) decisions are changed; the rest are reported per item.
+ */
+@Service
+public class BulkDecisionService {
+
+    static final int MAX_DECISIONS = 5000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final List<UnderwritingDecision.DecisionStatus> OPEN = List.of(
+            UnderwritingDecision.DecisionStatus.PENDING, UnderwritingDecision.DecisionStatus.ON_HOLD);
+
+    @Autowired
+    private UnderwritingDecisionRepository decisionRepository;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private UnderwritingQueue underwritingQueue;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public BulkDecisionResult apply(BulkDecisionRequest request) {
+        if (request.getDecisionIds() == null || request.getDecisionIds().isEmpty()) {
+            throw new IllegalArgumentException("decisionIds is required");
+        }
+        if (request.getDecisionIds().size() > MAX_DECISIONS) {
+            throw new IllegalArgumentException("At most " + MAX_DECISIONS + " decisions per request");
+        }
+        if (request.getStatus() == null || request.getStatus() == UnderwritingDecision.DecisionStatus.PENDING) {
+            throw new IllegalArgumentException("status must be APPROVED, DECLINED or ON_HOLD");
+        }
+        long started = System.nanoTime();
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getDecisionIds()));
+        LocalDate today = LocalDate.now();
+        LocalDate approvalDate = request.getStatus() == UnderwritingDecision.DecisionStatus.APPROVED ? today : null;
+
+        List<UnderwritingDecision> before = new ArrayList<>();
+        List<BulkDecisionOutcome> outcomes = new TransactionTemplate(transactionManager).execute(status -> {
+            Map<Long, UnderwritingDecision> current = new HashMap<>();
+            for (List<Long> chunk : chunks(ids)) {
+                decisionRepository.findAndLockByDecisionIdIn(chunk)
+                        .forEach(decision -> current.put(decision.getDecisionId(), decision));
+            }
+
+            List<BulkDecisionOutcome> result = new ArrayList<>(ids.size());
+            List<Long> toUpdate = new ArrayList<>();
+            for (Long id : ids) {
+                UnderwritingDecision decision = current.get(id);
+                if (decision == null) {
+                    result.add(new BulkDecisionOutcome(id, BulkDecisionOutcome.Outcome.NOT_FOUND, null));
+                } else if (!OPEN.contains(decision.getStatus())) {
+                    result.add(new BulkDecisionOutcome(id, BulkDecisionOutcome.Outcome.ALREADY_DECIDED, decision.getStatus()));
+                } else {
+                    result.add(new BulkDecisionOutcome(id, BulkDecisionOutcome.Outcome.UPDATED, decision.getStatus()));
+                    toUpdate.add(id);
+                    before.add(copy(decision));
+                }
+            }
+
+            for (List<Long> chunk : chunks(toUpdate)) {
+                decisionRepository.applyDecision(chunk, request.getStatus(), request.getReason(),
+                        request.getUnderwriterNotes(), request.getDecidedBy(), today, approvalDate);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<AuditLog> audit = new ArrayList<>(before.size());
+            for (UnderwritingDecision decision : before) {
+                audit.add(AuditLog.builder()
+                        .action("UPDATE_DECISION")
+                        .entityType("UnderwritingDecision")
+                        .entityId(decision.getDecisionId())
+                        .actor(request.getDecidedBy())
+                        .timestamp(now)
+                        .details("status=" + request.getStatus().name()
+                                + ";reason=" + (request.getReason() != null ? request.getReason() : "")
+                                + ";bulk=true")
+                        .build());
+            }
+            auditService.logAll(audit);
+            return result;
+        });
+
+        // Side effects run after commit, as the single-decision endpoint does after save()
+        List<UnderwritingDecision> after = new ArrayList<>(before.size());
+        for (UnderwritingDecision old : before) {
+            UnderwritingDecision updated = copy(old);
+            updated.setStatus(request.getStatus());
+            updated.setReason(request.getReason());
+            if (request.getUnderwriterNotes() != null) {
+                updated.setUnderwriterNotes(request.getUnderwriterNotes());
+            }
+            updated.setDecidedBy(request.getDecidedBy());
+            updated.setDecisionDate(today);
+            updated.setApprovalDate(approvalDate);
+            analyticsCounters.decisionRemoved(old);
+            analyticsCounters.decisionAdded(updated);
+            underwritingQueue.onDecisionSaved(updated);
+            after.add(updated);
+        }
+        changeEventBus.publishAll(ChangeEventBus.EntityType.DECISION, ChangeEventBus.Action.UPDATED, after,
+                UnderwritingDecision::getDecisionId, UnderwritingDecision::getCustomerId);
+
+        return BulkDecisionResult.builder()
+                .requested(ids.size())
+                .updated(before.size())
+                .outcomes(outcomes)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .build();
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static UnderwritingDecision copy(UnderwritingDecision d) {
+        return UnderwritingDecision.builder()
+                .decisionId(d.getDecisionId())
+                .customerId(d.getCustomerId())
+                .assessmentId(d.getAssessmentId())
+                .status(d.getStatus())
+                .reason(d.getReason())
+                .underwriterNotes(d.getUnderwriterNotes())
+                .decisionDate(d.getDecisionDate())
+                .sentToUnderwritingDate(d.getSentToUnderwritingDate())
+                .decidedBy(d.getDecidedBy())
+                .approvalDate(d.getApprovalDate())
+                .build();
+    }
+}
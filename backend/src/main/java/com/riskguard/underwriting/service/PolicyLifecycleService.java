@@ -0,0 +1,231 @@
+package com.riskguard.underwriting.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.riskguard.audit.service.AuditService;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import com.riskguard.premium.service.PremiumService;
+import com.riskguard.riskassessment.repository.RiskAssessmentRepository;
+import com.riskguard.underwriting.dto.PolicyLifecycleSummary;
+import com.riskguard.underwriting.dto.RenewalQuote;
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import com.riskguard.common.events.ChangeEventBus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly policy lifecycle. Active policies past their end date are expired with set-based
+ * UPDATEs over end_date windows, each window in its own transaction. Renewals due in the next N
+ * days are read in (end_date, policy_id) keyset pages from the (status, end_date) index and priced
+ * a page at a time with {@link PremiumService#computePremiums}, using each customer's latest
+ * risk score, product and age at the renewal date.
+ */
+@Slf4j
+@Service
+public class PolicyLifecycleService {
+
+    @Value("${riskguard.policy-lifecycle.renewal-window-days:30}")
+    private int renewalWindowDays;
+
+    @Value("${riskguard.policy-lifecycle.window-days:7}")
+    private int windowDays;
+
+    @Value("${riskguard.policy-lifecycle.page-size:1000}")
+    private int pageSize;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private RiskAssessmentRepository assessmentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PremiumService premiumService;
+
+    @Autowired
+    private PolicyLookupService policyLookupService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile PolicyLifecycleSummary lastRun;
+
+    public int renewalWindowDays() {
+        return renewalWindowDays;
+    }
+
+    public Optional<PolicyLifecycleSummary> lastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    @Scheduled(cron = "${riskguard.policy-lifecycle.cron:0 0 1 * * *}")
+    public void scheduledRun() {
+        run(LocalDate.now());
+    }
+
+    /** Expires policies that ended before {@code asOf}. Empty if a run is already in progress. */
+    public Optional<PolicyLifecycleSummary> run(LocalDate asOf) {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long started = System.nanoTime();
+            long expired = expireBefore(asOf);
+            if (expired > 0) {
+                policyLookupService.evictAll();
+                changeEventBus.publishBulk(ChangeEventBus.EntityType.POLICY, expired);
+            }
+            long due = policyRepository.countByStatusAndEndDateBetween(
+                    Policy.PolicyStatus.ACTIVE, asOf, asOf.plusDays(renewalWindowDays));
+            PolicyLifecycleSummary summary = PolicyLifecycleSummary.builder()
+                    .asOf(asOf)
+                    .startedAt(startedAt)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .expired(expired)
+                    .renewalWindowDays(renewalWindowDays)
+                    .renewalsDue(due)
+                    .build();
+            lastRun = summary;
+            log.info("Policy lifecycle run as of {} expired {} policies; {} renewals due in {} days",
+                    asOf, expired, due, renewalWindowDays);
+            auditService.log("EXPIRE_POLICIES", "Policy", null, "system",
+                    "asOf=" + asOf + ";expired=" + expired + ";renewalsDue=" + due);
+            return Optional.of(summary);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long expireBefore(LocalDate asOf) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        LocalDate today = LocalDate.now();
+        long expired = 0;
+        // Expired rows leave the ACTIVE range, so each MIN starts at the next remaining end date
+        LocalDate from;
+        while ((from = policyRepository.findEarliestEndDate(Policy.PolicyStatus.ACTIVE, asOf)) != null) {
+            LocalDate windowFrom = from;
+            LocalDate to = from.plusDays(windowDays).isAfter(asOf) ? asOf : from.plusDays(windowDays);
+            Integer rows = tx.execute(status -> policyRepository.transitionEndingBetween(
+                    Policy.PolicyStatus.ACTIVE, Policy.PolicyStatus.EXPIRED, windowFrom, to, today));
+            expired += rows != null ? rows : 0;
+        }
+        return expired;
+    }
+
+    /**
+     * Writes active policies ending between {@code asOf} and {@code asOf + days} (inclusive) as
+     * newline-delimited {@link RenewalQuote}s in end-date order.
+     */
+    public void writeRenewals(LocalDate asOf, int days, OutputStream out) throws IOException {
+        LocalDate until = asOf.plusDays(days);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // Rows are separated by the newline alone, not the default space before each root value
+        generator.setRootValueSeparator(null);
+        // The mapper flushes after every value by default; flush once per page instead
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        LocalDate lastEnd = asOf.minusDays(1);
+        long lastId = 0;
+        List<Policy> page;
+        do {
+            page = policyRepository.findRenewalPage(Policy.PolicyStatus.ACTIVE, asOf, until, lastEnd, lastId,
+                    PageRequest.ofSize(pageSize));
+            for (RenewalQuote quote : price(page)) {
+                writer.writeValue(generator, quote);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            if (!page.isEmpty()) {
+                Policy last = page.get(page.size() - 1);
+                lastEnd = last.getEndDate();
+                lastId = last.getPolicyId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    private List<RenewalQuote> price(List<Policy> policies) {
+        List<Long> customerIds = policies.stream().map(Policy::getCustomerId).distinct().toList();
+        Map<Long, Double> scores = new HashMap<>();
+        if (!customerIds.isEmpty()) {
+            for (Object[] row : assessmentRepository.findLatestScoresByCustomerIdIn(customerIds)) {
+                scores.put((Long) row[0], (Double) row[1]);
+            }
+        }
+        Map<Long, Customer> customers = new HashMap<>();
+        customerRepository.findAllById(customerIds).forEach(c -> customers.put(c.getCustomerId(), c));
+
+        int n = policies.size();
+        Customer.InsuranceType[] types = new Customer.InsuranceType[n];
+        double[] coverage = new double[n];
+        double[] riskScores = new double[n];
+        double[] ages = new double[n];
+        double[] premiums = new double[n];
+        for (int i = 0; i < n; i++) {
+            Policy policy = policies.get(i);
+            Double score = scores.get(policy.getCustomerId());
+            Customer customer = customers.get(policy.getCustomerId());
+            types[i] = customer != null ? customer.getInsuranceType() : null;
+            coverage[i] = policy.getCoverageAmount() != null ? policy.getCoverageAmount().doubleValue() : 0.0;
+            riskScores[i] = score != null ? score : 0.0;
+            ages[i] = customer != null && customer.getDateOfBirth() != null && policy.getEndDate() != null
+                    ? Period.between(customer.getDateOfBirth(), policy.getEndDate()).getYears()
+                    : Double.NaN;
+        }
+        premiumService.computePremiums(types, coverage, riskScores, ages, premiums);
+
+        List<RenewalQuote> quotes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Policy policy = policies.get(i);
+            Double score = scores.get(policy.getCustomerId());
+            boolean priced = score != null && policy.getCoverageAmount() != null;
+            quotes.add(RenewalQuote.builder()
+                    .policyId(policy.getPolicyId())
+                    .policyNumber(policy.getPolicyNumber())
+                    .customerId(policy.getCustomerId())
+                    .endDate(policy.getEndDate())
+                    .coverageAmount(policy.getCoverageAmount())
+                    .currentPremium(policy.getPremiumAmount())
+                    .riskScore(score)
+                    .renewalPremium(priced ? BigDecimal.valueOf(premiums[i]) : null)
+                    .build());
+        }
+        return quotes;
+    }
+}
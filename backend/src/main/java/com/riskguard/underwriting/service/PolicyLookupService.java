@@ -0,0 +1,57 @@
+package com.riskguard.underwriting.service;
+
+import com.riskguard.underwriting.entity.Policy;
+import com.riskguard.underwriting.repository.PolicyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Cached policy reads for the lookup endpoints. Cached instances are detached and shared between
+ * requests, so callers must not modify them; writes go through the repository and then
+ * {@link #evict(Policy)}.
+ */
+@Service
+public class PolicyLookupService {
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Cacheable(cacheNames = "policiesById", unless = "#result == null")
+    public Optional<Policy> findById(Long id) {
+        return policyRepository.findById(id).map(this::detach);
+    }
+
+    @Cacheable(cacheNames = "policiesByNumber", unless = "#result == null")
+    public Optional<Policy> findByPolicyNumber(String policyNumber) {
+        return policyRepository.findByPolicyNumber(policyNumber).map(this::detach);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "policiesById", key = "#policy.policyId"),
+            @CacheEvict(cacheNames = "policiesByNumber", key = "#policy.policyNumber", condition = "#policy.policyNumber != null")
+    })
+    public void evict(Policy policy) {
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "policiesById", allEntries = true),
+            @CacheEvict(cacheNames = "policiesByNumber", allEntries = true)
+    })
+    public void evictAll() {
+    }
+
+    private Policy detach(Policy policy) {
+        entityManager.detach(policy);
+        return policy;
+    }
+}
@@ -0,0 +1,273 @@
+package com.riskguard.underwriting.service;
+
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.riskassessment.repository.RiskAssessmentRepository;
+import com.riskguard.underwriting.dto.QueueItem;
+import com.riskguard.underwriting.dto.QueueStats;
+import com.riskguard.underwriting.entity.UnderwritingDecision;
+import com.riskguard.underwriting.repository.UnderwritingDecisionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory work queue of assessments waiting for an underwriter, one item per assessment in
+ * SENT_TO_UNDERWRITING whose decision is still open. Items are ordered by risk score plus a
+ * bonus per hour waited. Every item ages at the same rate, so the relative order never changes
+ * after insertion and the rank can be fixed when an item is queued: score minus the aging rate
+ * times the time it was sent.
+ *
+ * <p>Waiting items live in a skip list; claiming is a lock-free {@code pollFirst()}, so two
+ * underwriters can never receive the same item. Claims expire after a lease and the item goes
+ * back into the queue. The queue is local to this instance and is rebuilt from the database on
+ * startup.
+ */
+@Slf4j
+@Service
+public class UnderwritingQueue {
+
+    private static final Comparator<Ticket> BY_PRIORITY = Comparator
+            .comparingDouble(Ticket::rank).reversed()
+            .thenComparingLong(Ticket::assessmentId);
+
+    @Value("${riskguard.underwriting-queue.aging-points-per-hour:2.0}")
+    private double agingPointsPerHour;
+
+    @Value("${riskguard.underwriting-queue.claim-minutes:30}")
+    private long claimMinutes;
+
+    @Autowired
+    private RiskAssessmentRepository assessmentRepository;
+
+    @Autowired
+    private UnderwritingDecisionRepository decisionRepository;
+
+    private final ConcurrentSkipListSet<Ticket> waiting = new ConcurrentSkipListSet<>(BY_PRIORITY);
+    private final ConcurrentHashMap<Long, Item> items = new ConcurrentHashMap<>();
+    private volatile LocalDateTime rebuiltAt;
+
+    private record Ticket(double rank, long assessmentId) {
+    }
+
+    /** Immutable queue entry; state changes replace the map value atomically. */
+    private record Item(Ticket ticket, Long customerId, Long decisionId, Double riskScore,
+                        LocalDateTime sentAt, String claimedBy, LocalDateTime claimExpiresAt) {
+
+        Item withDecision(Long id) {
+            return new Item(ticket, customerId, id, riskScore, sentAt, claimedBy, claimExpiresAt);
+        }
+
+        Item withClaim(String underwriter, LocalDateTime expiresAt) {
+            return new Item(ticket, customerId, decisionId, riskScore, sentAt, underwriter, expiresAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<RiskAssessment> sent = assessmentRepository.findByStatus(RiskAssessment.AssessmentStatus.SENT_TO_UNDERWRITING);
+        Map<Long, UnderwritingDecision> decisionByAssessment = new HashMap<>();
+        List<Long> assessmentIds = sent.stream().map(RiskAssessment::getAssessmentId).toList();
+        for (int from = 0; from < assessmentIds.size(); from += 1000) {
+            List<Long> chunk = assessmentIds.subList(from, Math.min(from + 1000, assessmentIds.size()));
+            for (UnderwritingDecision decision : decisionRepository.findByAssessmentIdIn(chunk)) {
+                // Keep the latest decision when an assessment was sent more than once
+                decisionByAssessment.merge(decision.getAssessmentId(), decision,
+                        (a, b) -> a.getDecisionId() > b.getDecisionId() ? a : b);
+            }
+        }
+        waiting.clear();
+        items.clear();
+        for (RiskAssessment assessment : sent) {
+            UnderwritingDecision decision = decisionByAssessment.get(assessment.getAssessmentId());
+            if (decision == null) {
+                enqueue(assessment, null, LocalDateTime.now());
+            } else if (decision.getStatus() == UnderwritingDecision.DecisionStatus.PENDING) {
+                enqueue(assessment, decision.getDecisionId(), sentAt(decision));
+            }
+        }
+        rebuiltAt = LocalDateTime.now();
+        log.info("Underwriting queue rebuilt with {} items", items.size());
+    }
+
+    /** Applies an assessment status change: SENT_TO_UNDERWRITING queues it, anything else removes it. */
+    public void onAssessmentSaved(RiskAssessment assessment) {
+        if (assessment.getStatus() == RiskAssessment.AssessmentStatus.SENT_TO_UNDERWRITING) {
+            if (!items.containsKey(assessment.getAssessmentId())) {
+                enqueue(assessment, null, LocalDateTime.now());
+            }
+        } else {
+            remove(assessment.getAssessmentId());
+        }
+    }
+
+    /**
+     * A PENDING decision attaches to the item, creating it only if the assessment is
+     * SENT_TO_UNDERWRITING, the status that feeds the queue and the one {@link #rebuild()} loads.
+     * Any other decision status closes the item.
+     */
+    public void onDecisionSaved(UnderwritingDecision decision) {
+        Long assessmentId = decision.getAssessmentId();
+        if (assessmentId == null) {
+            return;
+        }
+        if (decision.getStatus() != UnderwritingDecision.DecisionStatus.PENDING) {
+            remove(assessmentId);
+            return;
+        }
+        Item updated = items.computeIfPresent(assessmentId, (id, item) -> item.withDecision(decision.getDecisionId()));
+        if (updated == null) {
+            assessmentRepository.findById(assessmentId)
+                    .filter(assessment -> assessment.getStatus() == RiskAssessment.AssessmentStatus.SENT_TO_UNDERWRITING)
+                    .ifPresent(assessment -> enqueue(assessment, decision.getDecisionId(), sentAt(decision)));
+        }
+    }
+
+    public void onDecisionDeleted(UnderwritingDecision decision) {
+        if (decision.getAssessmentId() != null) {
+            items.computeIfPresent(decision.getAssessmentId(),
+                    (id, item) -> decision.getDecisionId().equals(item.decisionId()) ? item.withDecision(null) : item);
+        }
+    }
+
+    /** Claims up to {@code max} of the highest-priority waiting items for the underwriter. */
+    public List<QueueItem> claim(String underwriter, int max) {
+        List<QueueItem> claimed = new ArrayList<>(max);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(claimMinutes);
+        while (claimed.size() < max) {
+            Ticket ticket = waiting.pollFirst();
+            if (ticket == null) {
+                break;
+            }
+            // The polled ticket is exclusively ours; the item may have been closed in the meantime
+            Item item = items.computeIfPresent(ticket.assessmentId(),
+                    (id, current) -> current.ticket().equals(ticket) && current.claimedBy() == null
+                            ? current.withClaim(underwriter, expiresAt)
+                            : current);
+            if (item != null && underwriter.equals(item.claimedBy()) && expiresAt.equals(item.claimExpiresAt())) {
+                claimed.add(toDto(item));
+            }
+        }
+        return claimed;
+    }
+
+    /** Returns a claimed item to the queue. Empty if it does not exist or is not claimed by the caller. */
+    public Optional<QueueItem> release(Long assessmentId, String underwriter) {
+        Item[] released = new Item[1];
+        items.computeIfPresent(assessmentId, (id, item) -> {
+            if (!underwriter.equals(item.claimedBy())) {
+                return item;
+            }
+            released[0] = item.withClaim(null, null);
+            return released[0];
+        });
+        if (released[0] == null) {
+            return Optional.empty();
+        }
+        waiting.add(released[0].ticket());
+        return Optional.of(toDto(released[0]));
+    }
+
+    /** Re-queues items whose claim lease has run out. */
+    @Scheduled(fixedDelayString = "${riskguard.underwriting-queue.expiry-check-ms:60000}")
+    public void expireClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long assessmentId : items.keySet()) {
+            Item item = items.get(assessmentId);
+            if (item != null && item.claimedBy() != null && item.claimExpiresAt().isBefore(now)) {
+                release(assessmentId, item.claimedBy());
+            }
+        }
+    }
+
+    /** Highest-priority waiting items, without claiming them. */
+    public List<QueueItem> peek(int limit) {
+        List<QueueItem> result = new ArrayList<>(limit);
+        Iterator<Ticket> it = waiting.iterator();
+        while (it.hasNext() && result.size() < limit) {
+            Item item = items.get(it.next().assessmentId());
+            if (item != null && item.claimedBy() == null) {
+                result.add(toDto(item));
+            }
+        }
+        return result;
+    }
+
+    public List<QueueItem> claimedBy(String underwriter) {
+        return items.values().stream()
+                .filter(item -> underwriter.equals(item.claimedBy()))
+                .sorted(Comparator.comparing(Item::ticket, BY_PRIORITY))
+                .map(this::toDto)
+                .toList();
+    }
+
+    public QueueStats stats() {
+        int claimed = 0;
+        LocalDateTime oldest = null;
+        for (Item item : items.values()) {
+            if (item.claimedBy() != null) {
+                claimed++;
+            } else if (oldest == null || item.sentAt().isBefore(oldest)) {
+                oldest = item.sentAt();
+            }
+        }
+        return QueueStats.builder()
+                .waiting(waiting.size())
+                .claimed(claimed)
+                .oldestWaitingSince(oldest)
+                .rebuiltAt(rebuiltAt)
+                .build();
+    }
+
+    private void enqueue(RiskAssessment assessment, Long decisionId, LocalDateTime sentAt) {
+        double score = assessment.getRiskScore() != null ? assessment.getRiskScore() : 0.0;
+        double sentHours = sentAt.toEpochSecond(ZoneOffset.UTC) / 3600.0;
+        Ticket ticket = new Ticket(score - agingPointsPerHour * sentHours, assessment.getAssessmentId());
+        Item item = new Item(ticket, assessment.getCustomerId(), decisionId, assessment.getRiskScore(), sentAt, null, null);
+        if (items.putIfAbsent(assessment.getAssessmentId(), item) == null) {
+            waiting.add(ticket);
+        }
+    }
+
+    private void remove(Long assessmentId) {
+        Item removed = items.remove(assessmentId);
+        if (removed != null) {
+            waiting.remove(removed.ticket());
+        }
+    }
+
+    private QueueItem toDto(Item item) {
+        double waitedHours = (LocalDateTime.now().toEpochSecond(ZoneOffset.UTC)
+                - item.sentAt().toEpochSecond(ZoneOffset.UTC)) / 3600.0;
+        double score = item.riskScore() != null ? item.riskScore() : 0.0;
+        return QueueItem.builder()
+                .assessmentId(item.ticket().assessmentId())
+                .customerId(item.customerId())
+                .decisionId(item.decisionId())
+                .riskScore(item.riskScore())
+                .sentToUnderwritingDate(item.sentAt())
+                .priority(Math.round((score + agingPointsPerHour * waitedHours) * 100.0) / 100.0)
+                .claimedBy(item.claimedBy())
+                .claimExpiresAt(item.claimExpiresAt())
+                .build();
+    }
+
+    private static LocalDateTime sentAt(UnderwritingDecision decision) {
+        return decision.getSentToUnderwritingDate() != null ? decision.getSentToUnderwritingDate() : LocalDateTime.now();
+    }
+}
@@ -0,0 +1,58 @@
+package com.riskguard.common.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void neverForgetsAValue() {
+        // Half the double-hash combinations come out negative; each must still map to a valid bit
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("txn-" + i);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(filter.mightContain("txn-" + i)).as("txn-%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateIsNearTheTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("present-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("anything")).isFalse();
+    }
+
+    @Test
+    void sizesBitsAndHashesFromTheTarget() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        // ~9.6 bits and ~7 hashes per value at 1%, bits rounded up to whole words
+        assertThat(filter.bitCount()).isEqualTo(9_600);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsNonsenseParameters() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
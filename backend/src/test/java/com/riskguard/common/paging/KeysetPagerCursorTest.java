@@ -0,0 +1,63 @@
+package com.riskguard.common.paging;
+
+import com.riskguard.common.paging.KeysetPager.Cursor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPagerCursorTest {
+
+    @Test
+    void nullSortKeyRoundTripsAsNull() {
+        Cursor cursor = Cursor.decode(Cursor.encode(42L, null), String.class);
+        assertThat(cursor).isEqualTo(new Cursor(42L, null));
+    }
+
+    @Test
+    void emptySortKeyIsNotNull() {
+        assertThat(Cursor.decode(Cursor.encode(7L, ""), String.class)).isEqualTo(new Cursor(7L, ""));
+    }
+
+    @Test
+    void sortKeyMayContainTheSeparator() {
+        assertThat(Cursor.decode(Cursor.encode(7L, "Smith|Jones"), String.class))
+                .isEqualTo(new Cursor(7L, "Smith|Jones"));
+    }
+
+    @Test
+    void typedSortKeysRoundTrip() {
+        LocalDateTime created = LocalDateTime.of(2024, 2, 29, 13, 45, 10, 123_000_000);
+        assertThat(Cursor.decode(Cursor.encode(1L, created), LocalDateTime.class).value()).isEqualTo(created);
+        assertThat(Cursor.decode(Cursor.encode(1L, LocalDate.of(2024, 1, 2)), LocalDate.class).value())
+                .isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(Cursor.decode(Cursor.encode(1L, new BigDecimal("1250.50")), BigDecimal.class).value())
+                .isEqualTo(new BigDecimal("1250.50"));
+        assertThat(Cursor.decode(Cursor.encode(1L, Month.MARCH), Month.class).value()).isEqualTo(Month.MARCH);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        assertThat(Cursor.encode(Long.MAX_VALUE, "ÿÿ?/+")).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void blankTokenMeansFirstPage() {
+        assertThat(Cursor.decode(null, String.class)).isNull();
+        assertThat(Cursor.decode(" ", String.class)).isNull();
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        assertThatThrownBy(() -> Cursor.decode("***", String.class)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decode(Cursor.encode(1L, "x").substring(1), String.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decode(Cursor.encode(1L, "not-a-date"), LocalDate.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.riskguard.customer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() throws IOException {
+        assertThat(readAll("a,b,c\n,,\nx")).containsExactly(
+                List.of("a", "b", "c"),
+                List.of("", "", ""),
+                List.of("x"));
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotedFields() throws IOException {
+        assertThat(readAll("1,\"12 Main St\nApt 4\",Oslo\r\n2,\"a\r\nb\",Bergen\n")).containsExactly(
+                List.of("1", "12 Main St\nApt 4", "Oslo"),
+                List.of("2", "a\r\nb", "Bergen"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        assertThat(readAll("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n")).containsExactly(
+                List.of("say \"hi\"", "\"", ""));
+    }
+
+    @Test
+    void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+        assertThat(readAll("5\" pipe,b\n")).containsExactly(List.of("5\" pipe", "b"));
+    }
+
+    @Test
+    void skipsBlankLinesAndHandlesCrLf() throws IOException {
+        assertThat(readAll("\r\na,b\r\n\r\n\nc,d\r\n")).containsExactly(
+                List.of("a", "b"),
+                List.of("c", "d"));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(""));
+        assertThat(reader.next()).isNull();
+        assertThat(reader.next()).isNull();
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,16 @@
+#!/bin/bash
+# Builds the backend classes jar and the JMH uber-jar, then runs the benchmarks.
+# Results are written as JSON so runs can be compared over time.
+# Usage: ./run.sh [jmh args...]   e.g. ./run.sh PremiumBenchmark -f 1
+
+set -e
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+cd "$SCRIPT_DIR"
+
+mvn -q -f ../backend/pom.xml -Pbenchmarks install -DskipTests
+mvn -q package
+
+mkdir -p results
+RESULT_FILE="results/jmh-$(date +%Y%m%d-%H%M%S).json"
+java -jar target/benchmarks.jar -rf json -rff "$RESULT_FILE" "$@"
+echo "Results written to $RESULT_FILE"
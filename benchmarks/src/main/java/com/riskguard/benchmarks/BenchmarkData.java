@@ -0,0 +1,92 @@
+package com.riskguard.benchmarks;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.underwriting.entity.Policy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic fixtures shaped like production rows. */
+final class BenchmarkData {
+
+    private static final String[] CITIES = {"New York", "Los Angeles", "Chicago", "Houston", "Phoenix"};
+    private static final String[] STATES = {"NY", "CA", "IL", "TX", "AZ"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Customer> customers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Customer> customers = new ArrayList<>(count);
+        Customer.InsuranceType[] types = Customer.InsuranceType.values();
+        for (int i = 0; i < count; i++) {
+            int location = random.nextInt(CITIES.length);
+            boolean complete = random.nextInt(10) > 1;
+            customers.add(Customer.builder()
+                    .customerId((long) i + 1)
+                    .name("Customer " + i)
+                    .dateOfBirth(LocalDate.of(1940 + random.nextInt(65), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                    .email(complete ? "customer" + i + "@example.com" : null)
+                    .phone(random.nextBoolean() ? "555-" + (1000 + random.nextInt(9000)) : null)
+                    .insuranceType(types[random.nextInt(types.length)])
+                    .address(complete ? i + " Main St" : null)
+                    .city(CITIES[location])
+                    .state(STATES[location])
+                    .zipCode(String.valueOf(10000 + random.nextInt(89999)))
+                    .documentVerified(random.nextInt(4) > 0)
+                    .createdAt(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(600)))
+                    .build());
+        }
+        return customers;
+    }
+
+    static List<RiskAssessment> assessments(int count, long seed) {
+        Random random = new Random(seed);
+        List<RiskAssessment> assessments = new ArrayList<>(count);
+        RiskAssessment.RiskLevel[] levels = RiskAssessment.RiskLevel.values();
+        RiskAssessment.AssessmentResult[] results = RiskAssessment.AssessmentResult.values();
+        for (int i = 0; i < count; i++) {
+            assessments.add(RiskAssessment.builder()
+                    .assessmentId((long) i + 1)
+                    .customerId((long) random.nextInt(count) + 1)
+                    .riskScore((double) random.nextInt(101))
+                    .riskLevel(levels[random.nextInt(levels.length)])
+                    .rulesApplied("Relatively young age (25-35 years); Motor insurance (higher risk category); Documents verified (lower risk)")
+                    .explanation("Risk assessment based on customer profile analysis. Factors considered: Relatively young age (25-35 years), "
+                            + "Motor insurance (higher risk category), Documents verified (lower risk)")
+                    .result(results[random.nextInt(results.length)])
+                    .flaggedForManualReview(random.nextBoolean())
+                    .assessmentDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(300)))
+                    .updatedDate(LocalDate.of(2025, 1, 1).plusDays(random.nextInt(300)))
+                    .status(RiskAssessment.AssessmentStatus.PENDING)
+                    .build());
+        }
+        return assessments;
+    }
+
+    static List<Policy> policies(int count, long seed) {
+        Random random = new Random(seed);
+        List<Policy> policies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(600));
+            policies.add(Policy.builder()
+                    .policyId((long) i + 1)
+                    .customerId((long) random.nextInt(count) + 1)
+                    .decisionId((long) i + 1)
+                    .policyNumber("POL-" + (100000 + i))
+                    .coverageAmount(BigDecimal.valueOf(50_000L + random.nextInt(950_000)))
+                    .premiumAmount(BigDecimal.valueOf(250 + random.nextInt(20_000), 2).movePointRight(2))
+                    .startDate(start)
+                    .endDate(start.plusYears(1))
+                    .status(Policy.PolicyStatus.ACTIVE)
+                    .issueDate(start)
+                    .lastModifiedDate(start)
+                    .build());
+        }
+        return policies;
+    }
+}
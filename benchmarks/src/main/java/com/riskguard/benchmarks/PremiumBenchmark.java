@@ -0,0 +1,50 @@
+package com.riskguard.benchmarks;
+
+import com.riskguard.premium.service.PremiumService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PremiumBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final PremiumService premiumService = new PremiumService();
+    private double[] coverage;
+    private double[] scores;
+    private double[] premiums;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        coverage = new double[size];
+        scores = new double[size];
+        premiums = new double[size];
+        for (int i = 0; i < size; i++) {
+            coverage[i] = 10_000 + random.nextInt(990_000);
+            scores[i] = random.nextInt(101);
+        }
+    }
+
+    @Benchmark
+    public void singleQuotes(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(premiumService.computePremium(coverage[i], scores[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] batchQuotes() {
+        premiumService.computePremiums(coverage, scores, premiums);
+        return premiums;
+    }
+}
@@ -0,0 +1,105 @@
+package com.riskguard.benchmarks;
+
+import com.riskguard.RiskGuardApplication;
+import com.riskguard.common.paging.CursorPage;
+import com.riskguard.common.paging.CursorRequest;
+import com.riskguard.common.paging.KeysetPager;
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.customer.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository round trips against an in-memory H2 database running the real Spring context, so
+ * Hibernate and connection-pool overhead are included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private CustomerRepository customerRepository;
+    private KeysetPager keysetPager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(RiskGuardApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:riskguard;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.riskguard=WARN");
+        customerRepository = context.getBean(CustomerRepository.class);
+        keysetPager = context.getBean(KeysetPager.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Customer> customers = BenchmarkData.customers(rows, 42);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO customers (name, date_of_birth, email, phone, insurance_type, address, city, state, zip_code, "
+                        + "document_verified, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                customers, 1000, (ps, c) -> {
+                    ps.setString(1, c.getName());
+                    ps.setDate(2, Date.valueOf(c.getDateOfBirth()));
+                    ps.setString(3, c.getEmail());
+                    ps.setString(4, c.getPhone());
+                    ps.setString(5, c.getInsuranceType().name());
+                    ps.setString(6, c.getAddress());
+                    ps.setString(7, c.getCity());
+                    ps.setString(8, c.getState());
+                    ps.setString(9, c.getZipCode());
+                    ps.setBoolean(10, c.getDocumentVerified());
+                    ps.setDate(11, Date.valueOf(c.getCreatedAt()));
+                });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Customer> findById() {
+        return customerRepository.findById(ThreadLocalRandom.current().nextLong(1, rows + 1));
+    }
+
+    @Benchmark
+    public List<Customer> findAllById100() {
+        long start = ThreadLocalRandom.current().nextLong(1, rows - 100);
+        List<Long> ids = new ArrayList<>(100);
+        for (long id = start; id < start + 100; id++) {
+            ids.add(id);
+        }
+        return customerRepository.findAllById(ids);
+    }
+
+    @Benchmark
+    public CursorPage<Customer> keysetPageByName() {
+        return keysetPager.page(Customer.class, Set.of("name"), new CursorRequest(null, 50, "name", "asc"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.riskguard.benchmarks;
+
+import com.riskguard.customer.entity.Customer;
+import com.riskguard.riskassessment.service.RiskScoringEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskScoringBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final RiskScoringEngine engine = new RiskScoringEngine();
+    private List<Customer> customers;
+
+    @Setup
+    public void setUp() {
+        customers = BenchmarkData.customers(size, 42);
+    }
+
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (Customer customer : customers) {
+            blackhole.consume(engine.evaluate(customer, 2026));
+        }
+    }
+
+    // Includes building the factor labels, as the batch endpoint does for every row
+    @Benchmark
+    public void evaluateWithLabels(Blackhole blackhole) {
+        for (Customer customer : customers) {
+            int evaluation = engine.evaluate(customer, 2026);
+            blackhole.consume(engine.factorLabels(RiskScoringEngine.factorsOf(evaluation)));
+        }
+    }
+}
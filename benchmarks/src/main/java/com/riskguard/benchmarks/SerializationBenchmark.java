@@ -0,0 +1,47 @@
+package com.riskguard.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.riskguard.riskassessment.entity.RiskAssessment;
+import com.riskguard.underwriting.entity.Policy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    // Configured like the Spring Boot default mapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private List<RiskAssessment> assessments;
+    private List<Policy> policies;
+
+    @Setup
+    public void setUp() {
+        assessments = BenchmarkData.assessments(size, 42);
+        policies = BenchmarkData.policies(size, 42);
+    }
+
+    @Benchmark
+    public byte[] riskAssessments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(assessments);
+    }
+
+    @Benchmark
+    public byte[] policies() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(policies);
+    }
+}
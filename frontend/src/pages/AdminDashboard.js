@@ -23,12 +23,12 @@ import {
 } from "chart.js";
 import StatisticsCard from "../components/StatisticsCard";
 import {
-  getCustomers,
-  getRiskAssessments,
-  getPolicies,
+  getAnalyticsSummary,
   getUnderwritingDecisions,
-  getPremiumPayments,
-  getAuditLogs,
+  searchAuditLogs,
+  subscribeToChanges,
+  resyncIncludes,
+  applyChange,
 } from "../services/api";
 
 ChartJS.register(
@@ -57,139 +57,171 @@ function AdminDashboard() {
   const [decisionStats, setDecisionStats] = useState(null);
   const [recentActivities, setRecentActivities] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [data, setData] = useState(null);
 
   useEffect(() => {
     fetchAdminStats();
+    // Totals come from the analytics counters, re-read at most every two seconds while events
+    // arrive; only the decisions list (for processing times) is kept in the page
+    let timer = null;
+    const refreshSummary = () => {
+      if (!timer) {
+        timer = setTimeout(() => {
+          timer = null;
+          fetchAdminStats([]);
+        }, 2000);
+      }
+    };
+    const unsubscribe = subscribeToChanges({
+      types: ["ASSESSMENT", "DECISION", "POLICY", "PAYMENT"],
+      onChange: (event) => {
+        if (event.entityType === "DECISION") {
+          setData((current) =>
+            current
+              ? {
+                  ...current,
+                  decisions: applyChange(
+                    current.decisions,
+                    event,
+                    "decisionId",
+                  ),
+                }
+              : current,
+          );
+        }
+        refreshSummary();
+      },
+      onResync: fetchAdminStats,
+    });
+    return () => {
+      clearTimeout(timer);
+      unsubscribe();
+    };
   }, []);
 
-  const fetchAdminStats = async () => {
+  useEffect(() => {
+    if (data) {
+      updateDerivedStats(data);
+    }
+  }, [data]);
+
+  // Re-reads the summary and recent activity; the decisions list only when types covers DECISION
+  const fetchAdminStats = async (types = null) => {
     try {
-      const [customers, assessments, policies, decisions, payments, auditLogs] =
-        await Promise.all([
-          getCustomers(),
-          getRiskAssessments(),
-          getPolicies(),
-          getUnderwritingDecisions(),
-          getPremiumPayments().catch(() => []),
-          getAuditLogs().catch(() => []),
-        ]);
+      const [summary, decisions, auditPage] = await Promise.all([
+        getAnalyticsSummary(),
+        resyncIncludes(types, "DECISION") ? getUnderwritingDecisions() : null,
+        searchAuditLogs({ limit: 5 }).catch(() => ({ items: [] })),
+      ]);
+      setData((current) => ({
+        summary,
+        decisions: decisions ?? current?.decisions ?? [],
+        auditLogs: auditPage.items || [],
+      }));
+    } catch (error) {
+      console.error("Error fetching admin stats:", error);
+    } finally {
+      setLoading(false);
+    }
+  };
 
-      // Calculate approval rate from decisions
-      const approvedDecisions = decisions.filter(
-        (d) => d.status === "APPROVED",
-      ).length;
-      const totalDecisions = decisions.filter(
-        (d) => d.status !== "PENDING",
-      ).length;
-      const approvalRate =
-        totalDecisions > 0
-          ? ((approvedDecisions / totalDecisions) * 100).toFixed(1)
-          : 0;
+  const updateDerivedStats = ({ summary, decisions, auditLogs }) => {
+    const decisionCounts = summary.decisionDistribution || {};
+    const countOf = (status) => decisionCounts[status] || 0;
 
-      // Calculate total revenue from payments
-      const totalRevenue = payments.reduce((sum, p) => {
-        return sum + (p.status === "PAID" ? p.amount || 0 : 0);
-      }, 0);
+    // Approval rate over decided (non-pending) decisions
+    const approvedDecisions = countOf("APPROVED");
+    const totalDecisions = summary.totalDecisions - countOf("PENDING");
+    const approvalRate =
+      totalDecisions > 0
+        ? ((approvedDecisions / totalDecisions) * 100).toFixed(1)
+        : 0;
 
-      // Calculate average processing time from assessments to decisions
-      let avgProcessingTime = "N/A";
-      if (decisions.length > 0) {
-        const processingTimes = decisions
-          .filter((d) => d.decisionDate && d.sentToUnderwritingDate)
-          .map((d) => {
-            const sent = new Date(d.sentToUnderwritingDate);
-            const decided = new Date(d.decisionDate);
-            return Math.ceil((decided - sent) / (1000 * 60 * 60 * 24)); // days
-          });
-        if (processingTimes.length > 0) {
-          const average = (
-            processingTimes.reduce((a, b) => a + b, 0) / processingTimes.length
-          ).toFixed(1);
-          avgProcessingTime = `${average} days`;
-        } else {
-          // If no decided records, just show estimated time
-          avgProcessingTime = "< 1 day";
-        }
-      }
+    // Total revenue from paid premium payments
+    const totalRevenue = Number(summary.paymentMetrics?.paidAmount || 0);
 
-      // Pending decisions
-      const pendingDecisions = decisions.filter(
-        (d) => d.status === "PENDING",
-      ).length;
+    // Calculate average processing time from assessments to decisions
+    let avgProcessingTime = "N/A";
+    if (decisions.length > 0) {
+      const processingTimes = decisions
+        .filter((d) => d.decisionDate && d.sentToUnderwritingDate)
+        .map((d) => {
+          const sent = new Date(d.sentToUnderwritingDate);
+          const decided = new Date(d.decisionDate);
+          return Math.ceil((decided - sent) / (1000 * 60 * 60 * 24)); // days
+        });
+      if (processingTimes.length > 0) {
+        const average = (
+          processingTimes.reduce((a, b) => a + b, 0) / processingTimes.length
+        ).toFixed(1);
+        avgProcessingTime = `${average} days`;
+      } else {
+        // If no decided records, just show estimated time
+        avgProcessingTime = "< 1 day";
+      }
+    }
 
-      setStats({
-        totalCustomers: customers.length,
-        totalAssessments: assessments.length,
-        totalPolicies: policies.length,
-        approvalRate,
-        pendingDecisions,
-        totalRevenue: totalRevenue.toFixed(2),
-        avgProcessingTime,
-      });
+    // Pending decisions
+    const pendingDecisions = countOf("PENDING");
 
-      // Underwriting trends (last 7 days simulation)
-      const trendLabels = ["Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"];
-      setTrendData({
-        labels: trendLabels,
-        datasets: [
-          {
-            label: "Approved",
-            data: [12, 15, 10, 18, 14, 8, 11],
-            borderColor: "rgb(75, 192, 192)",
-            backgroundColor: "rgba(75, 192, 192, 0.2)",
-            tension: 0.4,
-          },
-          {
-            label: "Declined",
-            data: [3, 5, 4, 2, 6, 3, 4],
-            borderColor: "rgb(255, 99, 132)",
-            backgroundColor: "rgba(255, 99, 132, 0.2)",
-            tension: 0.4,
-          },
-        ],
-      });
+    setStats({
+      totalCustomers: summary.totalCustomers,
+      totalAssessments: summary.totalAssessments,
+      totalPolicies: summary.totalPolicies,
+      approvalRate,
+      pendingDecisions,
+      totalRevenue: totalRevenue.toFixed(2),
+      avgProcessingTime,
+    });
 
-      // Decision distribution
-      const decisionCounts = {
-        approved: decisions.filter((d) => d.status === "APPROVED").length,
-        declined: decisions.filter((d) => d.status === "DECLINED").length,
-        pending: decisions.filter((d) => d.status === "PENDING").length,
-        onHold: decisions.filter((d) => d.status === "ON_HOLD").length,
-      };
+    // Underwriting trends (last 7 days simulation)
+    const trendLabels = ["Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"];
+    setTrendData({
+      labels: trendLabels,
+      datasets: [
+        {
+          label: "Approved",
+          data: [12, 15, 10, 18, 14, 8, 11],
+          borderColor: "rgb(75, 192, 192)",
+          backgroundColor: "rgba(75, 192, 192, 0.2)",
+          tension: 0.4,
+        },
+        {
+          label: "Declined",
+          data: [3, 5, 4, 2, 6, 3, 4],
+          borderColor: "rgb(255, 99, 132)",
+          backgroundColor: "rgba(255, 99, 132, 0.2)",
+          tension: 0.4,
+        },
+      ],
+    });
 
-      setDecisionStats({
-        labels: ["Approved", "Declined", "Pending", "On Hold"],
-        datasets: [
-          {
-            data: [
-              decisionCounts.approved,
-              decisionCounts.declined,
-              decisionCounts.pending,
-              decisionCounts.onHold,
-            ],
-            backgroundColor: ["#28a745", "#dc3545", "#ffc107", "#17a2b8"],
-            borderWidth: 1,
-          },
-        ],
-      });
+    // Decision distribution
+    setDecisionStats({
+      labels: ["Approved", "Declined", "Pending", "On Hold"],
+      datasets: [
+        {
+          data: [
+            countOf("APPROVED"),
+            countOf("DECLINED"),
+            countOf("PENDING"),
+            countOf("ON_HOLD"),
+          ],
+          backgroundColor: ["#28a745", "#dc3545", "#ffc107", "#17a2b8"],
+          borderWidth: 1,
+        },
+      ],
+    });
 
-      // Recent activities from audit logs
-      const activities = auditLogs
-        .slice(-5)
-        .reverse()
-        .map((log) => ({
-          id: log.id,
-          action: log.action,
-          entity: log.entityType,
-          actor: log.actor || "System",
-          time: new Date(log.timestamp).toLocaleString(),
-        }));
-      setRecentActivities(activities);
-    } catch (error) {
-      console.error("Error fetching admin stats:", error);
-    } finally {
-      setLoading(false);
-    }
+    // Recent activities from audit logs (newest first)
+    const activities = auditLogs.map((log) => ({
+      id: log.id,
+      action: log.action,
+      entity: log.entityType,
+      actor: log.actor || "System",
+      time: new Date(log.timestamp).toLocaleString(),
+    }));
+    setRecentActivities(activities);
   };
 
   if (loading) {
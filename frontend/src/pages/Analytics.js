@@ -25,11 +25,10 @@ import {
   ResponsiveContainer,
 } from "recharts";
 import {
-  getRiskAssessments,
-  getUnderwritingDecisions,
-  getPolicies,
-  getPremiumPayments,
-  getCustomers,
+  getAnalyticsSummary,
+  getFraudSignals,
+  getRiskReportTrend,
+  subscribeToChanges,
 } from "../services/api";
 import "../styles/Analytics.css";
 
@@ -40,114 +39,70 @@ function Analytics() {
 
   useEffect(() => {
     fetchAnalytics();
+    // The summary comes from in-memory counters, so refetching it on changes is cheap;
+    // still, refetch at most every two seconds
+    let timer = null;
+    const refresh = () => {
+      if (!timer) {
+        timer = setTimeout(() => {
+          timer = null;
+          fetchAnalytics();
+        }, 2000);
+      }
+    };
+    const unsubscribe = subscribeToChanges({
+      onChange: refresh,
+      onResync: refresh,
+    });
+    return () => {
+      clearTimeout(timer);
+      unsubscribe();
+    };
   }, []);
 
   const fetchAnalytics = async () => {
     try {
       setError(null);
-      const [
-        assessmentsData,
-        decisionsData,
-        policiesData,
-        paymentsData,
-        customersData,
-      ] = await Promise.all([
-        getRiskAssessments(),
-        getUnderwritingDecisions(),
-        getPolicies(),
-        getPremiumPayments(),
-        getCustomers(),
+      const [summary, fraudSignals, dailyReports] = await Promise.all([
+        getAnalyticsSummary(),
+        getFraudSignals(),
+        getRiskReportTrend("DAILY"),
       ]);
 
-      const assessments = Array.isArray(assessmentsData) ? assessmentsData : [];
-      const decisions = Array.isArray(decisionsData) ? decisionsData : [];
-      const policies = Array.isArray(policiesData) ? policiesData : [];
-      const payments = Array.isArray(paymentsData) ? paymentsData : [];
-      const customers = Array.isArray(customersData) ? customersData : [];
-
-      // Calculate metrics
-      const approvalRate =
-        decisions.length > 0
-          ? (
-              (decisions.filter((d) => d.status === "APPROVED").length /
-                decisions.length) *
-              100
-            ).toFixed(2)
-          : 0;
-
-      const averageRiskScore =
-        assessments.length > 0
-          ? (
-              assessments.reduce((sum, a) => sum + (a.riskScore || 0), 0) /
-              assessments.length
-            ).toFixed(2)
-          : 0;
-
-      const riskDistribution = {
-        LOW: assessments.filter((a) => a.riskLevel === "LOW").length,
-        MEDIUM: assessments.filter((a) => a.riskLevel === "MEDIUM").length,
-        HIGH: assessments.filter((a) => a.riskLevel === "HIGH").length,
-        CRITICAL: assessments.filter((a) => a.riskLevel === "CRITICAL").length,
-      };
-
-      const decisionDistribution = {
-        APPROVED: decisions.filter((d) => d.status === "APPROVED").length,
-        DECLINED: decisions.filter((d) => d.status === "DECLINED").length,
-        PENDING: decisions.filter((d) => d.status === "PENDING").length,
-        ON_HOLD: decisions.filter((d) => d.status === "ON_HOLD").length,
-      };
-
-      const paymentMetrics = {
-        totalPayments: payments.length,
-        paidPayments: payments.filter((p) => p.status === "PAID").length,
-        unpaidPayments: payments.filter((p) => p.status === "UNPAID").length,
-        totalAmount: payments.reduce((sum, p) => sum + (p.amount || 0), 0),
-        paidAmount: payments
-          .filter((p) => p.status === "PAID")
-          .reduce((sum, p) => sum + (p.amount || 0), 0),
-      };
+      const highRiskCustomers = (summary.highRiskCustomers || []).map((a) => ({
+        customerId: a.customerId,
+        riskScore: a.riskScore,
+        riskLevel: a.riskLevel,
+      }));
 
-      const collectionRate =
-        paymentMetrics.totalAmount > 0
-          ? (
-              (paymentMetrics.paidAmount / paymentMetrics.totalAmount) *
-              100
-            ).toFixed(2)
-          : 0;
-
-      // High-risk customers
-      const highRiskCustomers = assessments
-        .filter((a) => a.riskLevel === "HIGH" || a.riskLevel === "CRITICAL")
-        .map((a) => ({
-          customerId: a.customerId,
-          riskScore: a.riskScore,
-          riskLevel: a.riskLevel,
-        }))
-        .slice(0, 5);
-
-      // Fraud patterns (simulated - in real system would analyze claim data)
-      const fraudPatterns = [
-        { type: "Multiple Claims", count: 3, percentage: 15 },
-        { type: "High Value Claims", count: 5, percentage: 25 },
-        { type: "Short Coverage Claims", count: 2, percentage: 10 },
-      ];
+      const fraudPatterns = (fraudSignals.signals || []).map((signal) => ({
+        type: signal.label,
+        count: signal.count,
+        percentage: signal.percentage,
+        policyIds: signal.policyIds,
+      }));
 
       setAnalytics({
-        totalCustomers: customers.length,
-        totalAssessments: assessments.length,
-        totalDecisions: decisions.length,
-        totalPolicies: policies.length,
-        approvalRate,
-        averageRiskScore,
-        riskDistribution,
-        decisionDistribution,
-        paymentMetrics,
-        collectionRate,
+        totalCustomers: summary.totalCustomers,
+        totalAssessments: summary.totalAssessments,
+        totalDecisions: summary.totalDecisions,
+        totalPolicies: summary.totalPolicies,
+        approvalRate: summary.approvalRate.toFixed(2),
+        averageRiskScore: summary.averageRiskScore.toFixed(2),
+        riskDistribution: summary.riskDistribution,
+        decisionDistribution: summary.decisionDistribution,
+        paymentMetrics: summary.paymentMetrics,
+        collectionRate: summary.collectionRate.toFixed(2),
         highRiskCustomers,
         fraudPatterns,
-        assessments,
-        decisions,
-        payments,
+        assessments: summary.recentAssessments || [],
+        // Precomputed daily snapshots, oldest first
+        trend: (dailyReports || []).map((report) => ({
+          date: report.periodStart,
+          averageRiskScore: report.averageRiskScore,
+          approvalRate: report.approvalRate,
+          totalAssessments: report.totalAssessments,
+        })),
       });
     } catch (err) {
       console.error("Error fetching analytics:", err);
@@ -370,6 +325,54 @@ function Analytics() {
         </Col>
       </Row>
 
+      {/* Daily Trend */}
+      <Row className="mb-4">
+        <Col md={12}>
+          <Card>
+            <Card.Header>
+              <Card.Title className="mb-0">Daily Trend (last 30 days)</Card.Title>
+            </Card.Header>
+            <Card.Body>
+              {analytics.trend.length === 0 ? (
+                <p className="text-muted mb-0">No daily reports generated yet.</p>
+              ) : (
+                <ResponsiveContainer width="100%" height={300}>
+                  <LineChart data={analytics.trend}>
+                    <CartesianGrid strokeDasharray="3 3" />
+                    <XAxis dataKey="date" />
+                    <YAxis yAxisId="left" />
+                    <YAxis yAxisId="right" orientation="right" />
+                    <Tooltip />
+                    <Legend />
+                    <Line
+                      yAxisId="left"
+                      type="monotone"
+                      dataKey="averageRiskScore"
+                      name="Avg Risk Score"
+                      stroke="#dc3545"
+                    />
+                    <Line
+                      yAxisId="left"
+                      type="monotone"
+                      dataKey="approvalRate"
+                      name="Approval Rate (%)"
+                      stroke="#28a745"
+                    />
+                    <Line
+                      yAxisId="right"
+                      type="monotone"
+                      dataKey="totalAssessments"
+                      name="Assessments"
+                      stroke="#17a2b8"
+                    />
+                  </LineChart>
+                </ResponsiveContainer>
+              )}
+            </Card.Body>
+          </Card>
+        </Col>
+      </Row>
+
       {/* Payment Metrics */}
       <Row className="mb-4">
         <Col md={12}>
@@ -485,6 +488,11 @@ function Analytics() {
                     now={pattern.percentage}
                     label={`${pattern.percentage}%`}
                   />
+                  {pattern.policyIds && pattern.policyIds.length > 0 && (
+                    <small className="text-muted">
+                      Policies: {pattern.policyIds.join(", ")}
+                    </small>
+                  )}
                 </div>
               ))}
             </Card.Body>
@@ -30,6 +30,9 @@ import {
   getUnderwritingDecisions,
   createUnderwritingDecision,
   updateUnderwritingDecision,
+  subscribeToChanges,
+  resyncIncludes,
+  applyChange,
 } from "../services/api";
 
 ChartJS.register(
@@ -61,69 +64,37 @@ function UnderwriterDashboard() {
 
   useEffect(() => {
     fetchDashboardStats();
+    // Live updates instead of polling the full lists
+    return subscribeToChanges({
+      types: ["ASSESSMENT", "DECISION"],
+      onChange: (event) => {
+        if (event.entityType === "ASSESSMENT") {
+          setAssessments((rows) => applyChange(rows, event, "assessmentId"));
+        } else {
+          setDecisions((rows) => applyChange(rows, event, "decisionId"));
+        }
+      },
+      onResync: fetchDashboardStats,
+    });
   }, []);
 
-  const fetchDashboardStats = async () => {
+  useEffect(() => {
+    updateDerivedStats(assessments, decisions);
+  }, [assessments, decisions]);
+
+  const fetchDashboardStats = async (types = null) => {
     try {
       const [assessmentsData, decisionsData] = await Promise.all([
-        getRiskAssessments(),
-        getUnderwritingDecisions(),
+        resyncIncludes(types, "ASSESSMENT") ? getRiskAssessments() : null,
+        resyncIncludes(types, "DECISION") ? getUnderwritingDecisions() : null,
       ]);
 
-      const assessmentsArray = Array.isArray(assessmentsData)
-        ? assessmentsData
-        : [];
-      const decisionsArray = Array.isArray(decisionsData) ? decisionsData : [];
-
-      setAssessments(assessmentsArray);
-      setDecisions(decisionsArray);
-
-      // Find pending decisions
-      const pending = decisionsArray.filter((d) => d.status === "PENDING");
-      setPendingItems(pending);
-
-      // Calculate stats
-      const totalApps = assessmentsArray.length;
-      const avgRisk =
-        totalApps > 0
-          ? (
-              assessmentsArray.reduce((sum, a) => sum + (a.riskScore || 0), 0) /
-              totalApps
-            ).toFixed(1)
-          : 0;
-
-      setStats({
-        totalApplications: totalApps,
-        pendingReview: pending.length,
-        approvedCount: decisionsArray.filter((d) => d.status === "APPROVED")
-          .length,
-        declinedCount: decisionsArray.filter((d) => d.status === "DECLINED")
-          .length,
-        avgRiskScore: avgRisk,
-      });
-
-      // Risk score distribution chart
-      const lowRisk = assessmentsArray.filter((a) => a.riskScore <= 30).length;
-      const mediumRisk = assessmentsArray.filter(
-        (a) => a.riskScore > 30 && a.riskScore <= 70,
-      ).length;
-      const highRisk = assessmentsArray.filter((a) => a.riskScore > 70).length;
-
-      setRiskChartData({
-        labels: [
-          "Low Risk (0-30)",
-          "Medium Risk (31-70)",
-          "High Risk (71-100)",
-        ],
-        datasets: [
-          {
-            label: "Applications by Risk Level",
-            data: [lowRisk, mediumRisk, highRisk],
-            backgroundColor: ["#28a745", "#ffc107", "#dc3545"],
-            borderWidth: 1,
-          },
-        ],
-      });
+      if (assessmentsData !== null) {
+        setAssessments(Array.isArray(assessmentsData) ? assessmentsData : []);
+      }
+      if (decisionsData !== null) {
+        setDecisions(Array.isArray(decisionsData) ? decisionsData : []);
+      }
     } catch (error) {
       console.error("Error fetching dashboard stats:", error);
       setStats({
@@ -138,6 +109,55 @@ function UnderwriterDashboard() {
     }
   };
 
+  const updateDerivedStats = (assessmentsArray, decisionsArray) => {
+    // Find pending decisions
+    const pending = decisionsArray.filter((d) => d.status === "PENDING");
+    setPendingItems(pending);
+
+    // Calculate stats
+    const totalApps = assessmentsArray.length;
+    const avgRisk =
+      totalApps > 0
+        ? (
+            assessmentsArray.reduce((sum, a) => sum + (a.riskScore || 0), 0) /
+            totalApps
+          ).toFixed(1)
+        : 0;
+
+    setStats({
+      totalApplications: totalApps,
+      pendingReview: pending.length,
+      approvedCount: decisionsArray.filter((d) => d.status === "APPROVED")
+        .length,
+      declinedCount: decisionsArray.filter((d) => d.status === "DECLINED")
+        .length,
+      avgRiskScore: avgRisk,
+    });
+
+    // Risk score distribution chart
+    const lowRisk = assessmentsArray.filter((a) => a.riskScore <= 30).length;
+    const mediumRisk = assessmentsArray.filter(
+      (a) => a.riskScore > 30 && a.riskScore <= 70,
+    ).length;
+    const highRisk = assessmentsArray.filter((a) => a.riskScore > 70).length;
+
+    setRiskChartData({
+      labels: [
+        "Low Risk (0-30)",
+        "Medium Risk (31-70)",
+        "High Risk (71-100)",
+      ],
+      datasets: [
+        {
+          label: "Applications by Risk Level",
+          data: [lowRisk, mediumRisk, highRisk],
+          backgroundColor: ["#28a745", "#ffc107", "#dc3545"],
+          borderWidth: 1,
+        },
+      ],
+    });
+  };
+
   const handleQuickReview = (decision) => {
     navigate("/underwriting-decisions");
   };
@@ -12,11 +12,29 @@ const api = axios.create({
 export const getCustomers = () => api.get("/customers").then((res) => res.data);
 export const getCustomer = (id) =>
   api.get(`/customers/${id}`).then((res) => res.data);
+export const getCustomer360 = (id) =>
+  api.get(`/customers/${id}/360`).then((res) => res.data);
+export const searchCustomers = (q, limit = 10) =>
+  api.get("/customers/search", { params: { q, limit } }).then((res) => res.data);
+export const getCustomerMatches = (status = "OPEN", limit = 100) =>
+  api.get("/customer-matches", { params: { status, limit } }).then((res) => res.data);
+export const updateCustomerMatchStatus = (id, status) =>
+  api.put(`/customer-matches/${id}/status`, null, { params: { status } }).then((res) => res.data);
+export const scanCustomerMatches = () =>
+  api.post("/customer-matches/scan").then((res) => res.data);
 export const createCustomer = (customer) =>
   api.post("/customers", customer).then((res) => res.data);
 export const updateCustomer = (id, customer) =>
   api.put(`/customers/${id}`, customer).then((res) => res.data);
 export const deleteCustomer = (id) => api.delete(`/customers/${id}`);
+export const importCustomers = (file, format = "csv") =>
+  api
+    .post("/customers/import", file, {
+      headers: {
+        "Content-Type": format === "csv" ? "text/csv" : "application/x-ndjson",
+      },
+    })
+    .then((res) => res.data);
 
 // ============ RISK ASSESSMENT APIs ============
 export const getRiskAssessments = () =>
@@ -27,6 +45,10 @@ export const createRiskAssessment = (assessment) =>
   api.post("/risk-assessments", assessment).then((res) => res.data);
 export const updateRiskAssessment = (id, assessment) =>
   api.put(`/risk-assessments/${id}`, assessment).then((res) => res.data);
+export const scoreRiskAssessments = (customerIds) =>
+  api
+    .post("/risk-assessments/score-batch", { customerIds })
+    .then((res) => res.data);
 export const updateRiskAssessmentStatus = (id, status) =>
   api
     .put(`/risk-assessments/${id}/status?status=${status}`)
@@ -37,8 +59,22 @@ export const getUnderwritingDecisions = () =>
   api.get("/underwriting-decisions").then((res) => res.data);
 export const getUnderwritingDecision = (id) =>
   api.get(`/underwriting-decisions/${id}`).then((res) => res.data);
+export const getUnderwritingQueue = (limit = 20) =>
+  api.get("/underwriting-queue", { params: { limit } }).then((res) => res.data);
+export const claimUnderwritingWork = (underwriter, max = 1) =>
+  api
+    .post("/underwriting-queue/claim", null, { params: { underwriter, max } })
+    .then((res) => res.data);
+export const releaseUnderwritingWork = (assessmentId, underwriter) =>
+  api
+    .post(`/underwriting-queue/${assessmentId}/release`, null, {
+      params: { underwriter },
+    })
+    .then((res) => res.data);
 export const createUnderwritingDecision = (decision) =>
   api.post("/underwriting-decisions", decision).then((res) => res.data);
+export const applyBulkUnderwritingDecision = (request) =>
+  api.post("/underwriting-decisions/bulk", request).then((res) => res.data);
 export const updateUnderwritingDecision = (id, decision) =>
   api.put(`/underwriting-decisions/${id}`, decision).then((res) => res.data);
 export const deleteUnderwritingDecision = (id) =>
@@ -61,6 +97,10 @@ export const getPremiumPayments = () =>
   api.get("/premium-payments").then((res) => res.data);
 export const getPremiumPayment = (id) =>
   api.get(`/premium-payments/${id}`).then((res) => res.data);
+export const generateInstallmentSchedules = (request) =>
+  api.post("/premium-payments/schedule", request).then((res) => res.data);
+export const sendPaymentEvents = (events) =>
+  api.post("/premium-payments/webhook", events).then((res) => res.data);
 export const createPremiumPayment = (payment) =>
   api.post("/premium-payments", payment).then((res) => res.data);
 export const updatePremiumPayment = (id, payment) =>
@@ -81,11 +121,90 @@ export const getRiskReports = () =>
   api.get("/risk-reports").then((res) => res.data);
 export const createRiskReport = (report) =>
   api.post("/risk-reports", report).then((res) => res.data);
+export const getRiskReportTrend = (period, from, to) =>
+  api
+    .get("/risk-reports/trend", { params: { period, from, to } })
+    .then((res) => res.data);
 export const generateAnalyticsReport = () =>
   api.get("/risk-reports/analytics/summary").then((res) => res.data);
 
+// ============ ANALYTICS APIs ============
+export const getAnalyticsSummary = () =>
+  api.get("/analytics/summary").then((res) => res.data);
+export const getFraudSignals = () =>
+  api.get("/analytics/fraud-signals").then((res) => res.data);
+export const runFraudSignals = () =>
+  api.post("/analytics/fraud-signals/run").then((res) => res.data);
+export const getAnalyticsCube = () =>
+  api.get("/analytics/cube").then((res) => res.data);
+export const queryAnalyticsCube = (query) =>
+  api.post("/analytics/cube/query", query).then((res) => res.data);
+
 // ============ AUDIT LOG APIs ============
 export const getAuditLogs = () =>
   api.get("/audit-logs").then((res) => res.data);
+export const searchAuditLogs = (params) =>
+  api.get("/audit-logs/search", { params }).then((res) => res.data);
+
+// ============ CHANGE EVENT STREAM ============
+// Server-Sent Events for creates, updates and deletes. EventSource reconnects on its own and
+// sends Last-Event-ID, so missed events are replayed. Bulk changes call onResync with the entity
+// types that changed, and resyncs (the client fell too far behind) with null for everything;
+// calls are debounced so the page refetches each list once.
+export const subscribeToChanges = ({ types, customerId, onChange, onResync }) => {
+  const params = new URLSearchParams();
+  if (types && types.length > 0) params.set("types", types.join(","));
+  if (customerId != null) params.set("customerId", customerId);
+  const source = new EventSource(`${API_BASE_URL}/events?${params}`);
+  let resyncTimer = null;
+  let changedTypes = new Set();
+  let resyncAll = false;
+  const resync = (entityType) => {
+    if (!onResync) return;
+    if (entityType) {
+      changedTypes.add(entityType);
+    } else {
+      resyncAll = true;
+    }
+    clearTimeout(resyncTimer);
+    resyncTimer = setTimeout(() => {
+      const changed = resyncAll ? null : [...changedTypes];
+      changedTypes = new Set();
+      resyncAll = false;
+      onResync(changed);
+    }, 2000);
+  };
+  source.addEventListener("change", (e) => {
+    const event = JSON.parse(e.data);
+    if (event.action === "BULK") {
+      resync(event.entityType);
+    } else if (onChange) {
+      onChange(event);
+    }
+  });
+  source.addEventListener("resync", () => resync(null));
+  return () => {
+    clearTimeout(resyncTimer);
+    source.close();
+  };
+};
+
+// True when an onResync call covers the given entity type (null means every type)
+export const resyncIncludes = (types, entityType) =>
+  !types || types.includes(entityType);
+
+// Applies a CREATED, UPDATED or DELETED change event to a list of rows keyed by idKey
+export const applyChange = (rows, event, idKey) => {
+  if (event.action === "DELETED") {
+    return rows.filter((row) => row[idKey] !== event.entityId);
+  }
+  const index = rows.findIndex((row) => row[idKey] === event.entityId);
+  if (index < 0) {
+    return [...rows, event.payload];
+  }
+  const next = rows.slice();
+  next[index] = event.payload;
+  return next;
+};
 
 export default api;